@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запуск контекста сервера на встроенной H2 без веб-сервера и заполнение базы тестовыми данными.
+ * Схема создается миграциями Flyway, как в рабочем приложении.
+ */
+public final class BenchmarkServer {
+    public static final int OWNERS = 10;
+    public static final int BOOKERS = 10;
+    public static final String SEARCH_TEXT = "дрель";
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkServer() {
+    }
+
+    /**
+     * Запуск контекста. Свойства передаются как аргументы командной строки,
+     * чтобы перекрыть настройки Postgres из application.properties
+     *
+     * @param properties дополнительные свойства в виде key=value
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "logging.level.root=WARN",
+                "logging.level.org.springframework.orm.jpa=WARN",
+                "logging.level.org.springframework.transaction=WARN",
+                "logging.level.org.springframework.transaction.interceptor=WARN",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+
+    /**
+     * Заполнение базы: OWNERS владельцев делят между собой items предметов, у каждого предмета
+     * по два бронирования от BOOKERS арендаторов и по одному отзыву, каждый десятый предмет
+     * содержит в описании SEARCH_TEXT.
+     *
+     * @param items количество предметов
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int items) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= OWNERS + BOOKERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@email.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (user_id, name, email) values (?, ?, ?)", users);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            String description = id % 10 == 0 ? "Ударная " + SEARCH_TEXT + " " + id : "Описание предмета " + id;
+            itemRows.add(new Object[]{id, "Предмет " + id, description, true, ownerId(id)});
+            long booker = OWNERS + 1 + id % BOOKERS;
+            bookingRows.add(new Object[]{2 * id - 1, Timestamp.valueOf(now.minusDays(id % 30 + 2)),
+                    Timestamp.valueOf(now.minusDays(id % 30 + 1)), id, booker, "APPROVED"});
+            bookingRows.add(new Object[]{2 * id, Timestamp.valueOf(now.plusDays(id % 30 + 1)),
+                    Timestamp.valueOf(now.plusDays(id % 30 + 2)), id, booker, "WAITING"});
+            commentRows.add(new Object[]{id, "Отзыв " + id, id, booker, Timestamp.valueOf(now)});
+            if (itemRows.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, itemRows, bookingRows, commentRows);
+            }
+        }
+        flush(jdbcTemplate, itemRows, bookingRows, commentRows);
+        // id предметов заданы явно, поэтому первый блок items_seq начинается за последним предметом
+        jdbcTemplate.execute("alter sequence items_seq restart with " + (items + 50L));
+    }
+
+    public static long ownerId(long itemId) {
+        return 1 + itemId % OWNERS;
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> items,
+                              List<Object[]> bookings, List<Object[]> comments) {
+        jdbcTemplate.batchUpdate("insert into items (item_id, name, description, available, owner_user_id) " +
+                "values (?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("insert into bookings (booking_id, start_date_time, end_date_time, item_id, " +
+                "booker_user_id, status) values (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into comments (comment_id, text, item_id, author_user_id, created) " +
+                "values (?, ?, ?, ?, ?)", comments);
+        items.clear();
+        bookings.clear();
+        comments.clear();
+    }
+}
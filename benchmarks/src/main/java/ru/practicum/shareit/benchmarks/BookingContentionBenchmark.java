@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Параллельное бронирование предметов на встроенной H2. Потоки JMH (по умолчанию 32, задается -t)
+ * бронируют на 4 часа случайные часовые слоты из slots для items предметов, то есть на каждый предмет
+ * приходится threads / items арендаторов, которые ждут блокировки одной строки предмета.
+ * Счетчики booked и rejected показывают, сколько бронирований сохранено и сколько отклонено из-за пересечения.
+ * После прогона проверяется, что в базе нет пересекающихся ожидающих и подтвержденных бронирований.
+ * Пример запуска: java -jar benchmarks/target/benchmarks.jar BookingContentionBenchmark -t 64 -p items=1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class BookingContentionBenchmark {
+    private static final int DURATION_HOURS = 4;
+    @Param({"1", "16"})
+    public int items;
+    @Param({"10000"})
+    public int slots;
+    private final AtomicInteger bookers = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private BookingService bookingService;
+    private LocalDateTime firstSlot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seed(jdbcTemplate, items);
+        // seed задает id явно, поэтому счетчик id бронирований сдвигается за последнюю запись
+        jdbcTemplate.execute("alter table bookings alter column booking_id restart with " + (2L * items + 1));
+        bookingService = context.getBean(BookingService.class);
+        firstSlot = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Integer overlapping = jdbcTemplate.queryForObject("select count(*) from (" +
+                "select start_date_time, lag(end_date_time) over (partition by item_id order by start_date_time) " +
+                "as previous_end from bookings where status in ('WAITING', 'APPROVED')) b " +
+                "where b.start_date_time < b.previous_end", Integer.class);
+        context.close();
+        if (overlapping != null && overlapping > 0) {
+            throw new IllegalStateException("найдено пересекающихся бронирований: " + overlapping);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Booker {
+        private long userId;
+        private Random random;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingContentionBenchmark benchmark) {
+            int index = benchmark.bookers.getAndIncrement();
+            userId = BenchmarkServer.OWNERS + 1 + index % BenchmarkServer.BOOKERS;
+            random = new Random(index);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcome {
+        public long booked;
+        public long rejected;
+    }
+
+    @Benchmark
+    public void addBooking(Booker booker, Outcome outcome) {
+        BookingDtoOnlyId bookingDto = new BookingDtoOnlyId();
+        bookingDto.setItemId(1L + booker.random.nextInt(items));
+        bookingDto.setStart(firstSlot.plusHours(booker.random.nextInt(slots)));
+        bookingDto.setEnd(bookingDto.getStart().plusHours(DURATION_HOURS));
+        try {
+            bookingService.addBooking(booker.userId, bookingDto);
+            outcome.booked++;
+        } catch (ValidationException e) {
+            outcome.rejected++;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подтверждение владельцем всех его ожидающих бронирований на встроенной H2: по одному вызовом
+ * updateStatusBooking на каждое бронирование и одним вызовом updateStatusBookings, который проверяет
+ * список одним запросом и сохраняет статусы пакетными update.
+ * У владельца bookings предметов, у каждого одно ожидающее бронирование; перед каждым вызовом
+ * бронирования возвращаются в статус WAITING.
+ * Пример запуска: java -jar benchmarks/target/benchmarks.jar BulkApprovalBenchmark -p bookings=500
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkApprovalBenchmark {
+    private static final long OWNER_ID = BenchmarkServer.ownerId(BenchmarkServer.OWNERS);
+    @Param({"100", "500"})
+    public int bookings;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private BookingService bookingService;
+    private List<Long> bookingIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seed(jdbcTemplate, bookings * BenchmarkServer.OWNERS);
+        bookingService = context.getBean(BookingService.class);
+        bookingIds = jdbcTemplate.queryForList("select b.booking_id from bookings b " +
+                "join items i on i.item_id = b.item_id " +
+                "where i.owner_user_id = ? and b.status = 'WAITING' order by b.booking_id", Long.class, OWNER_ID);
+        if (bookingIds.size() != bookings) {
+            throw new IllegalStateException("ожидающих бронирований владельца: " + bookingIds.size());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatuses() {
+        jdbcTemplate.update("update bookings set status = 'WAITING' where status = 'APPROVED' and booking_id in " +
+                "(select b.booking_id from bookings b join items i on i.item_id = b.item_id " +
+                "where i.owner_user_id = ? and b.start_date_time > current_timestamp)", OWNER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void approveOneByOne(Blackhole blackhole) {
+        for (Long bookingId : bookingIds) {
+            blackhole.consume(bookingService.updateStatusBooking(OWNER_ID, bookingId, true));
+        }
+    }
+
+    @Benchmark
+    public Object approveInBulk() {
+        return bookingService.updateStatusBookings(OWNER_ID, bookingIds, true);
+    }
+}
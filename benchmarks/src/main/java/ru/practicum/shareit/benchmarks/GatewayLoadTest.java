@@ -0,0 +1,197 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочное сравнение режимов gateway (shareit-server.transport=blocking и reactive).
+ * Сервер заменен неблокирующей заглушкой, которая отвечает на GET /users/{id} с задержкой delay миллисекунд.
+ * Для каждого режима запускается отдельный процесс gateway из jar, после прогрева concurrency клиентов
+ * в течение duration секунд отправляют запросы друг за другом. В конце печатается пропускная способность,
+ * медиана и 99-й перцентиль задержки и число ошибок.
+ * Пример запуска:
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmarks.GatewayLoadTest concurrency=2000
+ */
+public class GatewayLoadTest {
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"user1\",\"email\":\"user1@email.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final List<String> MODES = List.of("blocking", "reactive");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT-exec.jar",
+                "concurrency", "1000",
+                "delay", "500",
+                "warmup", "10",
+                "duration", "20"));
+        Arrays.stream(args).map(arg -> arg.split("=", 2)).forEach(option -> options.put(option[0], option[1]));
+        Path jar = Path.of(options.get("jar"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration delay = Duration.ofMillis(Long.parseLong(options.get("delay")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(USER_JSON).delayElement(delay))))
+                .bindNow();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider)
+                .headers(headers -> headers.set("X-Sharer-User-Id", "1"));
+        List<String> report = new ArrayList<>();
+        try {
+            for (String mode : MODES) {
+                int port = freePort();
+                Process gateway = startGateway(jar, mode, port, server.port());
+                try {
+                    String uri = "http://localhost:" + port + "/users/1";
+                    awaitStarted(client, "http://localhost:" + port + "/actuator/health", gateway);
+                    run(client, uri, concurrency, warmup);
+                    report.add(mode + ": " + run(client, uri, concurrency, duration));
+                } finally {
+                    gateway.destroy();
+                    gateway.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+        System.out.printf("concurrency=%d, delay=%dms, duration=%ds%n", concurrency, delay.toMillis(),
+                duration.toSeconds());
+        report.forEach(System.out::println);
+    }
+
+    private static Process startGateway(Path jar, String mode, int port, int serverPort) throws IOException {
+        return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--shareit-server.transport=" + mode,
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off")
+                .inheritIO()
+                .start();
+    }
+
+    static void awaitStarted(HttpClient client, String health, Process gateway) throws InterruptedException {
+        for (int attempt = 0; attempt < 120; attempt++) {
+            if (!gateway.isAlive()) {
+                throw new IllegalStateException("gateway завершился с кодом " + gateway.exitValue());
+            }
+            Integer status = client.get().uri(health)
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                    .onErrorReturn(0)
+                    .block();
+            if (status != null && status == 200) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("gateway не запустился за 60 секунд");
+    }
+
+    static Result run(HttpClient client, String uri, int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Latencies> users = Flux.range(0, concurrency)
+                .flatMap(user -> runUser(client, uri, deadline, errors), concurrency)
+                .collectList()
+                .block();
+        return new Result(users, errors.get(), duration);
+    }
+
+    /**
+     * Запросы одного клиента друг за другом до истечения времени
+     */
+    private static Mono<Latencies> runUser(HttpClient client, String uri, long deadline, AtomicLong errors) {
+        Latencies latencies = new Latencies();
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return client.get().uri(uri)
+                            .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                            .defaultIfEmpty(0)
+                            .onErrorReturn(0)
+                            .doOnNext(status -> {
+                                if (status != 200) {
+                                    errors.incrementAndGet();
+                                }
+                                latencies.add(System.nanoTime() - start);
+                            });
+                })
+                .repeat(() -> System.nanoTime() < deadline)
+                .then(Mono.just(latencies));
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class Latencies {
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+
+    static class Result {
+        private final long[] latencies;
+        private final long errors;
+        private final Duration duration;
+
+        Result(List<Latencies> users, long errors, Duration duration) {
+            this.latencies = users.stream()
+                    .flatMapToLong(user -> Arrays.stream(user.values, 0, user.size))
+                    .sorted()
+                    .toArray();
+            this.errors = errors;
+            this.duration = duration;
+        }
+
+        private double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = duration.toNanos() / 1_000_000_000.0;
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, errors %d",
+                    latencies.length / seconds, percentileMillis(0.5), percentileMillis(0.99), errors);
+        }
+    }
+}
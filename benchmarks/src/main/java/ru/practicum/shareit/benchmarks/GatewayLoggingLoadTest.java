@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочное сравнение логирования gateway на списке бронирований GET /bookings.
+ * default — профиль по умолчанию: DEBUG-лог HttpClient с телами запросов и ответов, лог без потерь событий;
+ * prod — профиль prod: лог уровня INFO, асинхронный appender не задерживает потоки запросов.
+ * Заглушка сервера отвечает без задержки списком из bookings элементов, для каждого профиля запускается
+ * отдельный процесс gateway из jar. Вывод gateway отбрасывается, поэтому измеряется работа логирования
+ * в процессе gateway, а не скорость терминала.
+ * Пример запуска:
+ * java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.benchmarks.GatewayLoggingLoadTest bookings=100
+ */
+public class GatewayLoggingLoadTest {
+    private static final List<String> PROFILES = List.of("default", "prod");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT-exec.jar",
+                "concurrency", "64",
+                "bookings", "100",
+                "warmup", "10",
+                "duration", "20"));
+        Arrays.stream(args).map(arg -> arg.split("=", 2)).forEach(option -> options.put(option[0], option[1]));
+        Path jar = Path.of(options.get("jar"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int bookings = Integer.parseInt(options.get("bookings"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+
+        byte[] body = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsBytes(GatewayProxyBenchmark.bookingDtoList(bookings));
+        DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/bookings", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(body))))
+                .bindNow();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("logging-load-test")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider)
+                .headers(headers -> headers.set("X-Sharer-User-Id", "1"));
+        List<String> report = new ArrayList<>();
+        try {
+            for (String profile : PROFILES) {
+                int port = GatewayLoadTest.freePort();
+                Process gateway = startGateway(jar, profile, port, server.port());
+                try {
+                    String uri = "http://localhost:" + port + "/bookings?state=ALL&from=0&size=" + bookings;
+                    GatewayLoadTest.awaitStarted(client, "http://localhost:" + port + "/actuator/health", gateway);
+                    GatewayLoadTest.run(client, uri, concurrency, warmup);
+                    report.add(profile + ": " + GatewayLoadTest.run(client, uri, concurrency, duration));
+                } finally {
+                    gateway.destroy();
+                    gateway.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+        System.out.printf("concurrency=%d, bookings=%d (%d bytes), duration=%ds%n", concurrency, bookings,
+                body.length, duration.toSeconds());
+        report.forEach(System.out::println);
+    }
+
+    private static Process startGateway(Path jar, String profile, int port, int serverPort) throws IOException {
+        return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--spring.profiles.active=" + profile,
+                "--spring.main.banner-mode=off")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проксирование списка бронирований через gateway.
+ * Сервер заменен встроенным HttpServer, который отдает заранее сериализованный список из bookings элементов.
+ * parsed — прежний путь BaseClient: тело разбирается в Object и снова сериализуется в ответ клиенту;
+ * streamed — текущий путь через ProxiedResponse: байты ответа сервера копируются клиенту без разбора.
+ * Ответ клиенту пишется в пустой поток, чтобы измерялась только работа gateway.
+ * Распределение памяти: java -jar benchmarks/target/benchmarks.jar GatewayProxyBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class GatewayProxyBenchmark {
+    @Param({"20", "1000"})
+    public int bookings;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private HttpServer server;
+    private RestTemplate rest;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(bookingDtoList(bookings));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/bookings";
+        rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public long parsed() throws IOException {
+        ResponseEntity<Object> response = rest.exchange(url, HttpMethod.GET, null, Object.class);
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, response.getBody());
+        return out.count;
+    }
+
+    @Benchmark
+    public Long streamed() {
+        return rest.execute(url, HttpMethod.GET, null, response -> {
+            CountingOutputStream out = new CountingOutputStream();
+            StreamUtils.copy(response.getBody(), out);
+            return out.count;
+        });
+    }
+
+    static List<BookingDto> bookingDtoList(int size) {
+        UserDto booker = new UserDto();
+        booker.setId(2);
+        booker.setName("user2");
+        booker.setEmail("user2@email.ru");
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ItemDto item = new ItemDto(i + 1, "Предмет " + i, "Описание предмета " + i, true, 1, null);
+            list.add(new BookingDto(i + 1, now.plusDays(i), now.plusDays(i + 1), item, booker,
+                    BookingStatus.APPROVED));
+        }
+        return list;
+    }
+
+    /**
+     * Пустой поток ответа клиенту, который только считает записанные байты
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
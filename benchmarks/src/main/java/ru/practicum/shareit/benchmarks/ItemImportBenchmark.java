@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemImportReader;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Добавление items предметов одного владельца на встроенной H2: по одному вызовом addItem
+ * и одним импортом из NDJSON, который сохраняет предметы пакетами в отдельных транзакциях.
+ * Перед каждым вызовом предметы удаляются, чтобы размер таблицы не рос от вызова к вызову.
+ * Пример запуска: java -jar benchmarks/target/benchmarks.jar ItemImportBenchmark -p items=10000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemImportBenchmark {
+    private static final long OWNER_ID = BenchmarkServer.ownerId(0);
+    @Param({"1000", "10000"})
+    public int items;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private ItemService itemService;
+    private ItemImportService itemImportService;
+    private ObjectMapper objectMapper;
+    private List<ItemDto> itemDtos;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkServer.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkServer.seed(jdbcTemplate, 0);
+        itemService = context.getBean(ItemService.class);
+        itemImportService = context.getBean(ItemImportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        itemDtos = new ArrayList<>();
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= items; i++) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setName("Предмет " + i);
+            itemDto.setDescription("Описание предмета " + i);
+            itemDto.setAvailable(true);
+            itemDtos.add(itemDto);
+            body.append(objectMapper.writeValueAsString(itemDto)).append('\n');
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteItems() {
+        jdbcTemplate.update("delete from items");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void addOneByOne() {
+        for (ItemDto itemDto : itemDtos) {
+            itemService.addItem(OWNER_ID, itemDto);
+        }
+    }
+
+    @Benchmark
+    public int importNdjson() throws IOException {
+        AtomicInteger imported = new AtomicInteger();
+        ItemImportReader reader = new ItemImportReader(new ByteArrayInputStream(ndjson), StandardCharsets.UTF_8,
+                ItemImportFormat.NDJSON, objectMapper);
+        itemImportService.importItems(OWNER_ID, reader, results -> imported.addAndGet(results.size()));
+        return imported.get();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг списков сущностей в dto без базы данных и Spring-контекста.
+ * size — количество сущностей в списке.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "1000"})
+    public int size;
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final BookingMapper bookingMapper = new BookingMapper(new UserMapper(), itemMapper);
+    private final CommentMapper commentMapper = new CommentMapper();
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User owner = user(1);
+        User booker = user(2);
+        LocalDateTime now = LocalDateTime.now();
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setId(i + 1);
+            item.setName("Предмет " + i);
+            item.setDescription("Описание предмета " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId(i + 1);
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStart(now.plusDays(i));
+            booking.setEnd(now.plusDays(i + 1));
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+
+            Comment comment = new Comment();
+            comment.setId(i + 1);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setText("Отзыв " + i);
+            comment.setCreated(now);
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingDtoList() {
+        return bookingMapper.toBookingDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDtoList() {
+        return itemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentDtoList() {
+        return commentMapper.toCommentDtoList(comments);
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@email.ru");
+        return user;
+    }
+}
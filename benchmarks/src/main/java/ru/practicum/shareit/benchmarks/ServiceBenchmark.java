@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие методы сервисов сервера на встроенной H2.
+ * items — количество предметов в базе, бронирований в два раза больше;
+ * engine — движок поиска предметов (database или memory);
+ * size — размер страницы.
+ * Пример запуска: java -jar benchmarks/target/benchmarks.jar ServiceBenchmark -p items=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"1000", "20000"})
+    public int items;
+    @Param({"database", "memory"})
+    public String engine;
+    @Param({"20"})
+    public int size;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkServer.start("shareit.search.engine=" + engine);
+        BenchmarkServer.seed(context.getBean(JdbcTemplate.class), items);
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        if ("memory".equals(engine)) {
+            context.getBean(InMemoryItemSearchEngine.class).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> getBookingsByOwnerId() {
+        return bookingService.getBookingsByOwnerId(1, "ALL", 0, size);
+    }
+
+    @Benchmark
+    public List<ItemOwnerDto> getAllUserItems() {
+        return itemService.getAllUserItems(1, 0, size);
+    }
+
+    @Benchmark
+    public List<ItemDto> findItemsByText() {
+        return itemService.findItemsByText(BenchmarkServer.SEARCH_TEXT, 0, size);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Проверка тела запроса на создание пользователя в gateway (логин и email): прежняя компиляция регулярного
+ * выражения email на каждый вызов, предкомпилированный Pattern, как в ValidatorGateway, и те же правила
+ * ограничениями Bean Validation на dto. Классы gateway в бенчмарк не подключаются (часть имен совпадает
+ * с классами сервера), поэтому выражение и UserDto повторены здесь.
+ * Пропускная способность в операциях за микросекунду, распределение памяти на вызов — с -prof gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    private static final String EMAIL_REGEXP = "^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+"
+            + "@((\\[[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\])|(([a-zA-Z\\-0-9]+\\.)+[a-zA-Z]{2,}))$";
+    private static final Pattern EMAIL = Pattern.compile(EMAIL_REGEXP);
+    private final UserDto userDto = new UserDto("user", "user.name@mail.example.com");
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.byDefaultProvider().configure()
+                .traversableResolver(new TraverseAll())
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean compilePerCall() {
+        return validName(userDto) && Pattern.compile(EMAIL_REGEXP).matcher(userDto.getEmail()).matches();
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return validName(userDto) && EMAIL.matcher(userDto.getEmail()).matches();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDto>> beanValidation() {
+        return validator.validate(userDto);
+    }
+
+    private static boolean validName(UserDto userDto) {
+        return userDto.getName() != null && !userDto.getName().isEmpty() && !userDto.getName().contains(" ");
+    }
+
+    /**
+     * В gateway нет JPA: валидатор проверяет свойства без обращения к PersistenceUtil
+     */
+    private static class TraverseAll implements TraversableResolver {
+        @Override
+        public boolean isReachable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                                   Path pathToTraversableObject, ElementType elementType) {
+            return true;
+        }
+
+        @Override
+        public boolean isCascadable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                                    Path pathToTraversableObject, ElementType elementType) {
+            return true;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class UserDto {
+        @NotNull(message = "некорректный логин")
+        @javax.validation.constraints.Pattern(regexp = "[^ ]+", message = "некорректный логин")
+        private String name;
+        @NotNull(message = "email отсутствует")
+        @Size(min = 1, message = "email отсутствует")
+        @javax.validation.constraints.Pattern(regexp = "^$|" + EMAIL_REGEXP, message = "некорректный email")
+        private String email;
+    }
+}
@@ -2,16 +2,17 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.util.ValidatorGateway;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -21,17 +22,13 @@ public class BookingClient extends BaseClient {
 
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
-                         ValidatorGateway validator) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                         ResponseCache responseCache, ValidatorGateway validator) {
+        super(transport, responseCache, serverUrl + API_PREFIX);
         this.validator = validator;
     }
 
-    public ResponseEntity<Object> getAllBookingsFromUser(long userId, String stateParam, int[] page) {
+    public Mono<ResponseEntity<Object>> getAllBookingsFromUser(long userId, String stateParam, int[] page) {
         validator.validateId(userId);
         validator.validatePage(page[0], page[1]);
         BookingState state = validator.validateStateBooking(stateParam);
@@ -43,7 +40,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingByIdOwner(long userId, String stateParam, int[] page) {
+    public Mono<ResponseEntity<Object>> getBookingByIdOwner(long userId, String stateParam, int[] page) {
         validator.validateId(userId);
         validator.validatePage(page[0], page[1]);
         BookingState state = validator.validateStateBooking(stateParam);
@@ -55,23 +52,69 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addBooking(long userId, BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> getAllBookingsFromUser(long userId, String stateParam, String cursor,
+                                                               int size) {
+        validator.validateId(userId);
+        validator.validatePage(0, size);
+        BookingState state = validator.validateStateBooking(stateParam);
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingByIdOwner(long userId, String stateParam, String cursor, int size) {
+        validator.validateId(userId);
+        validator.validatePage(0, size);
+        BookingState state = validator.validateStateBooking(stateParam);
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> exportBookingsFromUser(long userId) {
+        validator.validateId(userId);
+        return getStream("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> exportBookingsByOwner(long userId) {
+        validator.validateId(userId);
+        return getStream("/owner/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> addBooking(long userId, BookingDto bookingDto) {
         validator.validateId(userId);
         validator.validateTimeBooking(bookingDto);
-        return post("", userId, bookingDto);
+        return post("", userId, bookingDto)
+                .doFinally(signal -> responseCache.evict(ResponseCache.Route.ITEMS, bookingDto.getItemId()));
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, Long bookingId) {
         validator.validateId(userId);
         validator.validateId(bookingId);
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateStatusBooking(long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateStatusBooking(long userId, Long bookingId, Boolean approved) {
         validator.validateId(userId);
         validator.validateId(bookingId);
         validator.validateApprovedBooking(approved);
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null)
+                .doFinally(signal -> responseCache.evict(ResponseCache.Route.ITEMS));
+    }
+
+    public Mono<ResponseEntity<Object>> updateStatusBookings(long userId, List<Long> bookingIds, Boolean approved) {
+        validator.validateId(userId);
+        validator.validateBookingIds(bookingIds);
+        validator.validateApprovedBooking(approved);
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("?approved={approved}", userId, parameters, bookingIds)
+                .doFinally(signal -> responseCache.evict(ResponseCache.Route.ITEMS));
     }
-}
\ No newline at end of file
+}
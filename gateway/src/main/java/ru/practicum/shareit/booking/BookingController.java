@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @RestController
 @RequestMapping("/bookings")
@@ -21,59 +23,94 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> addBooking(@RequestHeader(HEADER) long userId,
-                                             @RequestBody BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> addBooking(@RequestHeader(HEADER) long userId,
+                                                   @RequestBody BookingDto bookingDto) {
         log.info("GATEWAY start addBooking: bookingDto =  {}, userId = {}", bookingDto, userId);
-        ResponseEntity<Object> responseEntity = bookingClient.addBooking(userId, bookingDto);
-        log.info("GATEWAY end addBooking: booking =  {}", responseEntity);
-        return responseEntity;
+        return bookingClient.addBooking(userId, bookingDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end addBooking: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatusBooking(@RequestHeader(HEADER) long userId,
-                                                      @RequestParam Boolean approved,
-                                                      @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> updateStatusBooking(@RequestHeader(HEADER) long userId,
+                                                            @RequestParam Boolean approved,
+                                                            @PathVariable Long bookingId) {
         log.info("GATEWAY start updateStatus: bookingId = {}, userId = {}, approved = {}",
                 bookingId, userId, approved);
-        ResponseEntity<Object> responseEntity = bookingClient.updateStatusBooking(userId, bookingId, approved);
-        log.info("GATEWAY end updateStatus: booking = {}", responseEntity);
-        return responseEntity;
+        return bookingClient.updateStatusBooking(userId, bookingId, approved)
+                .doOnNext(responseEntity -> log.info("GATEWAY end updateStatus: status = {}",
+                        responseEntity.getStatusCode()));
+    }
+
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> updateStatusBookings(@RequestHeader(HEADER) long userId,
+                                                             @RequestParam Boolean approved,
+                                                             @RequestBody List<Long> bookingIds) {
+        log.info("GATEWAY start updateStatusBookings: bookingIds = {}, userId = {}, approved = {}",
+                bookingIds, userId, approved);
+        return bookingClient.updateStatusBookings(userId, bookingIds, approved)
+                .doOnNext(responseEntity -> log.info("GATEWAY end updateStatusBookings: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader(HEADER) long userId,
-                                                 @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@RequestHeader(HEADER) long userId,
+                                                       @PathVariable Long bookingId) {
         log.info("GATEWAY start getBookingById: bookingId = {}, userId = {}", bookingId, userId);
-        ResponseEntity<Object> responseEntity = bookingClient.getBookingById(userId, bookingId);
-        log.info("GATEWAY end getBookingById: booking = {}", responseEntity);
-        return responseEntity;
+        return bookingClient.getBookingById(userId, bookingId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end getBookingById: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsFromUser(
+    public Mono<ResponseEntity<Object>> getAllBookingsFromUser(
             @RequestHeader(HEADER) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("GATEWAY getAllBookingsFromUser: state = {}, userId = {}, from = {}, size = {}",
-                stateParam, userId, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("GATEWAY getAllBookingsFromUser: state = {}, userId = {}, from = {}, size = {}, cursor = {}",
+                stateParam, userId, from, size, cursor);
         int[] page = {from, size};
-        ResponseEntity<Object> responseEntity = bookingClient.getAllBookingsFromUser(userId, stateParam, page);
-        log.info("GATEWAY end getAllBookingsFromUser: booking = {}", responseEntity);
-        return responseEntity;
+        Mono<ResponseEntity<Object>> response = cursor == null
+                ? bookingClient.getAllBookingsFromUser(userId, stateParam, page)
+                : bookingClient.getAllBookingsFromUser(userId, stateParam, cursor, size);
+        return response
+                .doOnNext(responseEntity -> log.info("GATEWAY end getAllBookingsFromUser: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingByIdOwner(
+    public Mono<ResponseEntity<Object>> getBookingByIdOwner(
             @RequestHeader(HEADER) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("GATEWAY getBookingByIdOwner: state = {}, userId = {}, from = {}, size = {}",
-                stateParam, userId, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("GATEWAY getBookingByIdOwner: state = {}, userId = {}, from = {}, size = {}, cursor = {}",
+                stateParam, userId, from, size, cursor);
         int[] page = {from, size};
-        ResponseEntity<Object> responseEntity = bookingClient.getBookingByIdOwner(userId, stateParam, page);
-        log.info("GATEWAY end getBookingByIdOwner: booking = {}", responseEntity);
-        return responseEntity;
+        Mono<ResponseEntity<Object>> response = cursor == null
+                ? bookingClient.getBookingByIdOwner(userId, stateParam, page)
+                : bookingClient.getBookingByIdOwner(userId, stateParam, cursor, size);
+        return response
+                .doOnNext(responseEntity -> log.info("GATEWAY end getBookingByIdOwner: status = {}",
+                        responseEntity.getStatusCode()));
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Object>> exportBookingsFromUser(@RequestHeader(HEADER) long userId) {
+        log.info("GATEWAY start exportBookingsFromUser: userId = {}", userId);
+        return bookingClient.exportBookingsFromUser(userId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end exportBookingsFromUser: status = {}",
+                        responseEntity.getStatusCode()));
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Object>> exportBookingsByOwner(@RequestHeader(HEADER) long userId) {
+        log.info("GATEWAY start exportBookingsByOwner: userId = {}", userId);
+        return bookingClient.exportBookingsByOwner(userId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end exportBookingsByOwner: status = {}",
+                        responseEntity.getStatusCode()));
     }
-}
\ No newline at end of file
+}
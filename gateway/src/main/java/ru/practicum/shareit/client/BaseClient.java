@@ -1,105 +1,183 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    protected final ResponseCache responseCache;
+    private final ServerTransport transport;
+    private final UriBuilderFactory uriBuilderFactory;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerTransport transport, ResponseCache responseCache, String baseUrl) {
+        this.transport = transport;
+        this.responseCache = responseCache;
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    /**
+     * GET через ResponseCache. resourceId — id сущности маршрута route, по которому запись удаляется
+     * при изменении сущности.
+     */
+    protected Mono<ResponseEntity<Object>> cachedGet(ResponseCache.Route route, long resourceId, String path,
+                                                     Long userId, @Nullable Map<String, Object> parameters) {
+        URI uri = expand(path, parameters);
+        GatewayTiming timing = issue();
+        return observed(responseCache.get(new ResponseCache.Key(route, resourceId, uri, userId), conditionalHeaders -> {
+            HttpHeaders headers = defaultHeaders(timing, userId);
+            headers.addAll(conditionalHeaders);
+            return transport.exchange(HttpMethod.GET, uri, headers, null);
+        }), timing);
+    }
+
+    /**
+     * GET потокового ответа сервера в NDJSON, ответ не кешируется и передается клиенту по мере чтения
+     * через ProxiedResponse в обоих режимах транспорта, поэтому объем выгрузки не ограничен памятью gateway.
+     * Ошибки до начала ответа сервер возвращает в JSON
+     */
+    protected Mono<ResponseEntity<Object>> getStream(String path, long userId) {
+        GatewayTiming timing = issue();
+        HttpHeaders headers = defaultHeaders(timing, userId);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return observed(transport.exchange(HttpMethod.GET, expand(path, null), headers, null), timing);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId,
-                                              @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    /**
+     * POST с телом, которое gateway не разбирает, а передает серверу потоком байтов без буферизации.
+     * Ответ сервера ожидается в NDJSON, ошибки до начала ответа сервер возвращает в JSON
+     */
+    protected Mono<ResponseEntity<Object>> postStream(String path, long userId, MediaType contentType,
+                                                      InputStream body) {
+        GatewayTiming timing = issue();
+        HttpHeaders headers = defaultHeaders(timing, userId);
+        headers.setContentType(contentType);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return observed(transport.exchange(HttpMethod.POST, expand(path, null), headers, new InputStreamResource(body)),
+                timing);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId,
-                                             @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId,
+                                                   @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId,
-                                               @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<Void> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<Void> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    /**
+     * Ответ сервера на удаление клиенту не передается, поэтому тело ответа сразу закрывается
+     * и соединение возвращается в пул.
+     */
+    protected Mono<Void> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null)
+                .doOnNext(ProxiedResponse::discard)
+                .then();
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(
             HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        GatewayTiming timing = issue();
+        HttpHeaders headers = defaultHeaders(timing, userId);
+        return observed(transport.exchange(method, expand(path, parameters), headers, body), timing);
+    }
+
+    /**
+     * Конец проверок запроса в клиенте: отметка начала обмена с сервером в GatewayTiming текущего запроса
+     */
+    @Nullable
+    private GatewayTiming issue() {
+        GatewayTiming timing = GatewayTiming.current();
+        if (timing != null) {
+            timing.issued(getClass().getSimpleName());
+        }
+        return timing;
+    }
+
+    /**
+     * Отметки GatewayTiming для транспорта и лог тела ответа, если включен PayloadLog
+     */
+    private static Mono<ResponseEntity<Object>> observed(Mono<ResponseEntity<Object>> exchange,
+                                                         @Nullable GatewayTiming timing) {
+        if (PayloadLog.isEnabled()) {
+            exchange = exchange.doOnNext(PayloadLog::log);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return timing == null ? exchange : exchange.contextWrite(Context.of(GatewayTiming.class, timing));
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? uriBuilderFactory.expand(path, parameters)
+                : uriBuilderFactory.expand(path);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(@Nullable GatewayTiming timing, Long userId) {
         HttpHeaders headers = new HttpHeaders();
+        if (timing != null) {
+            headers.set(GatewayTiming.REQUEST_ID_HEADER, timing.getRequestId());
+        }
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
@@ -107,15 +185,4 @@ public class BaseClient {
         }
         return headers;
     }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-        return responseBuilder.build();
-    }
-}
\ No newline at end of file
+}
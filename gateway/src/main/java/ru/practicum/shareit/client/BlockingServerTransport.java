@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Блокирующий обмен с сервером. Запрос выполняется при подписке, то есть в потоке Tomcat,
+ * тело ответа передается клиенту потоком через ProxiedResponse.
+ * Тело запроса сериализуется конвертерами RestTemplate в тип содержимого из заголовков запроса,
+ * InputStreamResource копируется на сервер потоком.
+ * Отметки GatewayTiming из контекста Reactor привязываются к потоку на время обмена:
+ * получение соединения отмечает HttpRequestExecutor клиента из HttpClientConfig.
+ */
+public class BlockingServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public BlockingServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                 @Nullable Object body) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() ->
+                execute(method, uri, headers, body, GatewayTiming.from(context).orElse(null))));
+    }
+
+    private ResponseEntity<Object> execute(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body,
+                                           @Nullable GatewayTiming timing) {
+        GatewayTiming.bind(timing);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().putAll(headers);
+            if (body != null) {
+                writeBody(body, request);
+            }
+            ClientHttpResponse response = request.execute();
+            if (timing != null) {
+                timing.responded();
+            }
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(ProxiedHeaders.of(response.getHeaders()))
+                    .body(ProxiedResponse.of(response));
+        } catch (IOException e) {
+            throw new ResourceAccessException(String.format("Ошибка запроса %s %s: %s", method, uri,
+                    e.getMessage()), e);
+        } finally {
+            GatewayTiming.bind(null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeBody(T body, ClientHttpRequest request) throws IOException {
+        MediaType contentType = request.getHeaders().getContentType() != null
+                ? request.getHeaders().getContentType()
+                : MediaType.APPLICATION_JSON;
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), contentType)) {
+                ((HttpMessageConverter<T>) converter).write(body, contentType, request);
+                return;
+            }
+        }
+        throw new RestClientException(String.format("Нет конвертера для тела запроса %s", body.getClass()));
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Настройка проксирования ответов сервера: конвертер ProxiedResponse ставится первым,
+ * чтобы тело ответа сервера не попадало в конвертер Jackson.
+ * Время запросов по фазам (GatewayTiming) отсчитывается перехватчиком GatewayTimingInterceptor.
+ */
+@Configuration
+public class ClientConfig implements WebMvcConfigurer {
+    private final MeterRegistry registry;
+
+    public ClientConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ProxiedResponseConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new GatewayTimingInterceptor(this.registry));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отметки времени запроса к gateway, по которым его время делится на фазы таймера gateway.latency:
+ * validation — от начала обработчика до обращения клиента к серверу, то есть проверки ValidatorGateway;
+ * connection — получение соединения из пула, включая установку нового соединения;
+ * server — от отправки запроса до заголовков ответа сервера, включая сеть;
+ * response — чтение тела ответа сервера и запись ответа клиенту.
+ * Создается GatewayTimingInterceptor и хранится в атрибуте запроса, транспорту передается через контекст Reactor.
+ * Фаза записывается, только если обе ее отметки есть: ответ из кэша или ошибка соединения
+ * не дают фаз server и response.
+ */
+public class GatewayTiming {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    static final String METRIC = "gateway.latency";
+    static final String ATTRIBUTE = GatewayTiming.class.getName();
+    private static final ThreadLocal<GatewayTiming> BOUND = new ThreadLocal<>();
+    private final String requestId;
+    private final String route;
+    private final long start;
+    private volatile String client;
+    private volatile long issued;
+    private volatile long acquired;
+    private volatile long responded;
+
+    GatewayTiming(String requestId, String route) {
+        this.requestId = requestId;
+        this.route = route;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Отметки текущего запроса к gateway, null вне обработки запроса
+     */
+    @Nullable
+    static GatewayTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null
+                ? null
+                : (GatewayTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static Optional<GatewayTiming> from(ContextView context) {
+        return context.getOrEmpty(GatewayTiming.class);
+    }
+
+    /**
+     * Отметки обмена, который блокирующий транспорт выполняет в текущем потоке
+     */
+    @Nullable
+    static GatewayTiming bound() {
+        return BOUND.get();
+    }
+
+    static void bind(@Nullable GatewayTiming timing) {
+        if (timing == null) {
+            BOUND.remove();
+        } else {
+            BOUND.set(timing);
+        }
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    void issued(String client) {
+        this.client = client;
+        this.issued = System.nanoTime();
+    }
+
+    void acquired() {
+        this.acquired = System.nanoTime();
+    }
+
+    void responded() {
+        this.responded = System.nanoTime();
+    }
+
+    void complete(MeterRegistry registry) {
+        long completed = System.nanoTime();
+        if (issued == 0) {
+            return;
+        }
+        record(registry, "validation", start, issued);
+        record(registry, "connection", issued, acquired);
+        record(registry, "server", acquired, responded);
+        record(registry, "response", responded, completed);
+    }
+
+    private void record(MeterRegistry registry, String phase, long from, long to) {
+        if (from == 0 || to == 0) {
+            return;
+        }
+        Timer.builder(METRIC)
+                .description("Время фаз запроса к gateway")
+                .tag("phase", phase)
+                .tag("client", client)
+                .tag("route", route)
+                .register(registry)
+                .record(Math.max(0, to - from), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Начало и конец отсчета GatewayTiming. Контроллеры возвращают Mono, поэтому запрос обрабатывается
+ * в двух диспетчеризациях: отметки создаются в первой, а фазы записываются после записи ответа во второй.
+ * Id запроса берется из заголовка X-Request-Id клиента или создается, возвращается клиенту,
+ * передается серверу и добавляется в MDC логов потока запроса как requestId.
+ */
+public class GatewayTimingInterceptor implements AsyncHandlerInterceptor {
+    static final String MDC_KEY = "requestId";
+    private static final Pattern REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private final MeterRegistry registry;
+
+    public GatewayTimingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        GatewayTiming timing = (GatewayTiming) request.getAttribute(GatewayTiming.ATTRIBUTE);
+        if (timing == null) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            timing = new GatewayTiming(requestId(request), route == null ? "UNKNOWN" : route.toString());
+            request.setAttribute(GatewayTiming.ATTRIBUTE, timing);
+            response.setHeader(GatewayTiming.REQUEST_ID_HEADER, timing.getRequestId());
+        }
+        MDC.put(MDC_KEY, timing.getRequestId());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        MDC.remove(MDC_KEY);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        GatewayTiming timing = (GatewayTiming) request.getAttribute(GatewayTiming.ATTRIBUTE);
+        if (timing != null) {
+            timing.complete(registry);
+        }
+        MDC.remove(MDC_KEY);
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String requestId = request.getHeader(GatewayTiming.REQUEST_ID_HEADER);
+        return requestId != null && REQUEST_ID.matcher(requestId).matches()
+                ? requestId
+                : UUID.randomUUID().toString();
+    }
+}
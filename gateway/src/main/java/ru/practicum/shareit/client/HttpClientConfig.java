@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Блокирующий режим обмена с сервером (shareit-server.transport=blocking, по умолчанию).
+ * Общий пул соединений с сервером для всех клиентов gateway.
+ * Лимиты пула, таймауты и время жизни соединений задаются свойствами shareit-server.http.*,
+ * состояние пула (leased, pending, available) публикуется actuator в
+ * /actuator/metrics/httpcomponents.httpclient.pool.total.connections и .total.pending.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager connectionManager(
+            @Value("${shareit-server.http.max-total:1000}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route:1000}") int maxPerRoute,
+            @Value("${shareit-server.http.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        return connectionManager;
+    }
+
+    /**
+     * Cookie не сохраняются: клиент общий для всех пользователей gateway.
+     * Соединение держится открытым не дольше keep-alive, даже если сервер разрешает больше,
+     * а простаивающие дольше idle-timeout закрываются фоновым потоком.
+     * HttpRequestExecutor вызывается с уже полученным и подключенным соединением, в нем отмечается
+     * конец фазы connection GatewayTiming.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit-server.http.keep-alive:60s}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout:30s}") Duration idleTimeout) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(keepAlive.toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .setRequestExecutor(new TimedRequestExecutor())
+                .build();
+    }
+
+    /**
+     * Тело запроса пишется в соединение сразу, а не собирается в памяти: загрузка предметов
+     * передается на сервер потоком любого размера
+     */
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setBufferRequestBody(false);
+        return factory;
+    }
+
+    @Bean
+    public ServerTransport blockingServerTransport(RestTemplateBuilder builder,
+                                                   ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new BlockingServerTransport(builder.requestFactory(() -> clientHttpRequestFactory).build());
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAliveMillis) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAliveMillis) : maxKeepAliveMillis;
+        };
+    }
+
+    private static class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws IOException, HttpException {
+            GatewayTiming timing = GatewayTiming.bound();
+            if (timing != null) {
+                timing.acquired();
+            }
+            return super.execute(request, connection, context);
+        }
+    }
+}
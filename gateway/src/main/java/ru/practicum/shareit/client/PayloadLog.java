@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Тела ответов сервера в логе ru.practicum.shareit.client.PayloadLog на уровне DEBUG.
+ * Из тела в памяти пишутся первые LIMIT байтов, тело, которое передается клиенту потоком через ProxiedResponse,
+ * не читается: в лог попадают только его тип и длина.
+ * Уровень проверяется при сборке запроса в BaseClient, поэтому с выключенным логом запрос не делает лишней работы.
+ */
+@Slf4j
+final class PayloadLog {
+    static final int LIMIT = 1024;
+
+    private PayloadLog() {
+    }
+
+    static boolean isEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    static void log(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            log.debug("response {}, {} bytes: {}{}", response.getStatusCodeValue(), bytes.length,
+                    new String(bytes, 0, Math.min(bytes.length, LIMIT), StandardCharsets.UTF_8),
+                    bytes.length > LIMIT ? "..." : "");
+        } else {
+            log.debug("response {}, {}", response.getStatusCodeValue(), body);
+        }
+    }
+}
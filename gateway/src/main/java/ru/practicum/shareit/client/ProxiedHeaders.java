@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Заголовки ответа сервера без заголовков соединения, которые относятся только к участку сервер — gateway.
+ * X-Request-Id ответу клиенту ставит сам gateway, поэтому заголовок сервера не переносится.
+ */
+final class ProxiedHeaders {
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade",
+            GatewayTiming.REQUEST_ID_HEADER.toLowerCase(Locale.ROOT));
+
+    private ProxiedHeaders() {
+    }
+
+    static HttpHeaders of(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
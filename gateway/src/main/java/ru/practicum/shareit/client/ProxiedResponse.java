@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Тело ответа сервера, которое не разбирается в gateway, а копируется клиенту потоком байтов
+ * при записи ответа конвертером ProxiedResponseConverter. После копирования соединение с сервером освобождается.
+ * В блокирующем режиме тело читается из ClientHttpResponse, в реактивном — из потока DataBuffer WebClient,
+ * который читается один раз и не собирается в памяти.
+ */
+public abstract class ProxiedResponse implements Closeable {
+
+    public static ProxiedResponse of(ClientHttpResponse response) {
+        return new Blocking(response);
+    }
+
+    public static ProxiedResponse of(Flux<DataBuffer> body, HttpHeaders headers) {
+        return new Reactive(body, headers);
+    }
+
+    public abstract void transferTo(OutputStream out) throws IOException;
+
+    /**
+     * Тело ответа целиком в памяти, для ответов, которые сохраняются в ResponseCache.
+     * Блокирующее тело читается из потока в вызывающем потоке, реактивное — без блокировок по мере прихода данных.
+     * После чтения соединение освобождается.
+     */
+    static Mono<byte[]> readBody(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (body instanceof byte[]) {
+            return Mono.just((byte[]) body);
+        }
+        if (body instanceof ProxiedResponse) {
+            return ((ProxiedResponse) body).read();
+        }
+        return Mono.just(new byte[0]);
+    }
+
+    /**
+     * Закрывает тело ответа, которое не передается клиенту, чтобы вернуть соединение в пул
+     */
+    static void discard(ResponseEntity<Object> response) {
+        if (response.getBody() instanceof ProxiedResponse) {
+            ((ProxiedResponse) response.getBody()).close();
+        }
+    }
+
+    abstract Mono<byte[]> read();
+
+    abstract HttpHeaders headers();
+
+    @Override
+    public abstract void close();
+
+    @Override
+    public String toString() {
+        return String.format("ProxiedResponse(contentType=%s, contentLength=%d)",
+                headers().getContentType(), headers().getContentLength());
+    }
+
+    private static class Blocking extends ProxiedResponse {
+        private final ClientHttpResponse response;
+
+        Blocking(ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void transferTo(OutputStream out) throws IOException {
+            try {
+                StreamUtils.copy(response.getBody(), out);
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        Mono<byte[]> read() {
+            return Mono.fromCallable(() -> {
+                try {
+                    return StreamUtils.copyToByteArray(response.getBody());
+                } catch (IOException e) {
+                    throw new ResourceAccessException(String.format("Ошибка чтения ответа сервера: %s",
+                            e.getMessage()), e);
+                } finally {
+                    close();
+                }
+            });
+        }
+
+        @Override
+        HttpHeaders headers() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+
+    /**
+     * Запись в ответ клиента блокирующая, поэтому идет в потоке boundedElastic, а не в потоке событий Netty.
+     * Буферы, которые не дошли до клиента из-за ошибки записи или отмены, освобождаются
+     */
+    private static class Reactive extends ProxiedResponse {
+        private final Flux<DataBuffer> body;
+        private final HttpHeaders headers;
+        private final AtomicBoolean consumed = new AtomicBoolean();
+
+        Reactive(Flux<DataBuffer> body, HttpHeaders headers) {
+            this.body = body;
+            this.headers = headers;
+        }
+
+        @Override
+        public void transferTo(OutputStream out) throws IOException {
+            Flux<DataBuffer> buffers = consume()
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+            try {
+                DataBufferUtils.write(buffers, out)
+                        .doOnNext(DataBufferUtils::release)
+                        .then()
+                        .block();
+            } catch (RuntimeException e) {
+                Throwable cause = Exceptions.unwrap(e);
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        Mono<byte[]> read() {
+            return DataBufferUtils.join(consume())
+                    .map(buffer -> {
+                        try {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            return bytes;
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .defaultIfEmpty(new byte[0]);
+        }
+
+        @Override
+        HttpHeaders headers() {
+            return headers;
+        }
+
+        /**
+         * Непрочитанное тело дочитывается и освобождается, чтобы соединение вернулось в пул
+         */
+        @Override
+        public void close() {
+            if (consumed.compareAndSet(false, true)) {
+                body.subscribe(DataBufferUtils::release, error -> {
+                });
+            }
+        }
+
+        private Flux<DataBuffer> consume() {
+            if (!consumed.compareAndSet(false, true)) {
+                return Flux.error(new IllegalStateException("Тело ответа сервера уже прочитано"));
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Запись ProxiedResponse в ответ gateway без разбора и повторной сериализации JSON.
+ * Тип содержимого и длина берутся из заголовков ответа сервера, которые BaseClient переносит в ResponseEntity.
+ */
+public class ProxiedResponseConverter implements HttpMessageConverter<ProxiedResponse> {
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return ProxiedResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.of(MediaType.ALL);
+    }
+
+    @Override
+    public ProxiedResponse read(Class<? extends ProxiedResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ProxiedResponse не читается из запроса", inputMessage);
+    }
+
+    @Override
+    public void write(ProxiedResponse response, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        response.transferTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Неблокирующий режим обмена с сервером (shareit-server.transport=reactive).
+ * Контроллеры возвращают Mono, поэтому поток Tomcat освобождается на время запроса к серверу,
+ * а число одновременных запросов ограничено пулом соединений, а не потоками Tomcat.
+ * Пул настраивается теми же свойствами shareit-server.http.*, что и в блокирующем режиме,
+ * его состояние публикуется actuator в /actuator/metrics/reactor.netty.connection.provider.*.
+ * Перед отправкой запроса в полученное соединение отмечается конец фазы connection GatewayTiming.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+public class ReactiveClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(
+            @Value("${shareit-server.http.max-total:1000}") int maxTotal,
+            @Value("${shareit-server.http.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.keep-alive:60s}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout:30s}") Duration idleTimeout) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxLifeTime(keepAlive)
+                .maxIdleTime(idleTimeout)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerTransport reactiveServerTransport(
+            WebClient.Builder builder,
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .doOnRequest((request, connection) ->
+                        GatewayTiming.from(request.currentContextView()).ifPresent(GatewayTiming::acquired));
+        return new ReactiveServerTransport(builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build());
+    }
+}
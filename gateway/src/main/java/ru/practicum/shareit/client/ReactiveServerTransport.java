@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+
+/**
+ * Неблокирующий обмен с сервером через WebClient. Тело ответа не разбирается и не собирается в памяти,
+ * а передается клиенту потоком DataBuffer через ProxiedResponse, ответы с любым статусом проксируются как есть.
+ * InputStreamResource в теле запроса читается в потоке boundedElastic и отправляется серверу частями,
+ * чтобы блокирующее чтение не занимало поток событий Netty.
+ * Получение соединения для GatewayTiming отмечает HttpClient из ReactiveClientConfig,
+ * приход заголовков ответа — exchange.
+ */
+public class ReactiveServerTransport implements ServerTransport {
+    private final WebClient webClient;
+
+    public ReactiveServerTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                 @Nullable Object body) {
+        return Mono.deferContextual(context -> webClient.method(method)
+                        .uri(uri)
+                        .headers(requestHeaders -> requestHeaders.putAll(headers))
+                        .body(inserter(body))
+                        .retrieve()
+                        .onRawStatus(status -> true, response -> Mono.empty())
+                        .toEntityFlux(DataBuffer.class)
+                        .doOnNext(response -> GatewayTiming.from(context).ifPresent(GatewayTiming::responded)))
+                .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(ProxiedHeaders.of(response.getHeaders()))
+                        .body((Object) ProxiedResponse.of(response.getBody(), response.getHeaders())))
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    ResourceAccessException exception = new ResourceAccessException(String.format(
+                            "Ошибка запроса %s %s: %s", method, uri, e.getMessage()));
+                    exception.initCause(e);
+                    return exception;
+                });
+    }
+
+    private static BodyInserter<?, ? super ClientHttpRequest> inserter(@Nullable Object body) {
+        if (body == null) {
+            return BodyInserters.empty();
+        }
+        if (body instanceof InputStreamResource) {
+            InputStreamResource resource = (InputStreamResource) body;
+            Flux<DataBuffer> buffers = DataBufferUtils.readInputStream(resource::getInputStream,
+                            DefaultDataBufferFactory.sharedInstance, StreamUtils.BUFFER_SIZE)
+                    .subscribeOn(Schedulers.boundedElastic());
+            return BodyInserters.fromDataBuffers(buffers);
+        }
+        return BodyInserters.fromValue(body);
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Кэш ответов сервера на идемпотентные GET-запросы предметов, пользователей, запросов вещей и поиска.
+ * Ключ — маршрут, адрес запроса с параметрами и X-Sharer-User-Id, кэшируются только ответы 200.
+ * Пока не истек ttl маршрута, ответ отдается из кэша без обращения к серверу, после — перепроверяется
+ * запросом с If-None-Match: на 304 отдается сохраненное тело и ttl начинается заново.
+ * Объем кэша ограничен суммарным размером тел max-size, записи без обращений удаляются через retention.
+ * Изменяющие запросы клиентов удаляют связанные записи после ответа сервера. Каждое удаление увеличивает
+ * поколение маршрута: ответ на GET, отправленный до удаления, не сохраняется, если поколение за время запроса
+ * изменилось, иначе тело, прочитанное до изменения, отдавалось бы как свежее до конца ttl.
+ * Настройки — свойства shareit-gateway.cache.*, метрики — /actuator/metrics/cache.* с тегом cache=responses
+ * и gateway.cache.revalidations.
+ */
+@Component
+public class ResponseCache {
+    private static final String CACHE_NAME = "responses";
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private final Cache<Key, Entry> cache;
+    private final Map<Route, Long> ttlNanos = new EnumMap<>(Route.class);
+    private final Map<Route, AtomicLong> generations = new EnumMap<>(Route.class);
+    private final Counter notModified;
+    private final Counter modified;
+
+    public ResponseCache(@Value("${shareit-gateway.cache.users-ttl:30s}") Duration usersTtl,
+                         @Value("${shareit-gateway.cache.items-ttl:10s}") Duration itemsTtl,
+                         @Value("${shareit-gateway.cache.requests-ttl:10s}") Duration requestsTtl,
+                         @Value("${shareit-gateway.cache.search-ttl:5s}") Duration searchTtl,
+                         @Value("${shareit-gateway.cache.max-size:64MB}") DataSize maxSize,
+                         @Value("${shareit-gateway.cache.retention:10m}") Duration retention,
+                         MeterRegistry meterRegistry) {
+        ttlNanos.put(Route.USERS, usersTtl.toNanos());
+        ttlNanos.put(Route.ITEMS, itemsTtl.toNanos());
+        ttlNanos.put(Route.REQUESTS, requestsTtl.toNanos());
+        ttlNanos.put(Route.SEARCH, searchTtl.toNanos());
+        for (Route route : Route.values()) {
+            generations.put(route, new AtomicLong());
+        }
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.body.length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterAccess(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        notModified = meterRegistry.counter("gateway.cache.revalidations", "result", "not_modified");
+        modified = meterRegistry.counter("gateway.cache.revalidations", "result", "modified");
+    }
+
+    /**
+     * Ответ из кэша или от сервера. exchange получает заголовки условного запроса,
+     * пустые, если сохраненного ответа нет.
+     */
+    public Mono<ResponseEntity<Object>> get(Key key, Function<HttpHeaders, Mono<ResponseEntity<Object>>> exchange) {
+        return Mono.defer(() -> {
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null && entry.isFresh()) {
+                return Mono.just(entry.toResponse());
+            }
+            HttpHeaders conditionalHeaders = new HttpHeaders();
+            if (entry != null && entry.etag != null) {
+                conditionalHeaders.setIfNoneMatch(entry.etag);
+            }
+            long generation = generations.get(key.route).get();
+            return exchange.apply(conditionalHeaders).flatMap(response -> store(key, entry, generation, response));
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> store(Key key, @Nullable Entry entry, long generation,
+                                               ResponseEntity<Object> response) {
+        if (entry != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+            ProxiedResponse.discard(response);
+            notModified.increment();
+            entry.refresh(ttlNanos.get(key.route));
+            return Mono.just(entry.toResponse());
+        }
+        if (entry != null) {
+            modified.increment();
+        }
+        if (response.getStatusCodeValue() != HttpStatus.OK.value()) {
+            cache.invalidate(key);
+            return Mono.just(response);
+        }
+        return ProxiedResponse.readBody(response).map(body -> {
+            Entry fresh = new Entry(response, body, ttlNanos.get(key.route));
+            AtomicLong current = generations.get(key.route);
+            if (current.get() == generation) {
+                cache.put(key, fresh);
+                if (current.get() != generation) {
+                    cache.asMap().remove(key, fresh);
+                }
+            }
+            return fresh.toResponse();
+        });
+    }
+
+    /**
+     * Поколение увеличивается до удаления записей, поэтому запись, сохраненная параллельным GET
+     * между проверкой поколения и удалением, тоже удаляется
+     */
+    public void evict(Route route, long resourceId) {
+        generations.get(route).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.route == route && key.resourceId == resourceId);
+    }
+
+    public void evict(Route route) {
+        generations.get(route).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.route == route);
+    }
+
+    public void evictAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    public enum Route {
+        USERS, ITEMS, REQUESTS, SEARCH
+    }
+
+    /**
+     * resourceId — id пользователя, предмета или запроса вещи, по которому удаляются записи; для поиска 0.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @ToString
+    public static class Key {
+        private final Route route;
+        private final long resourceId;
+        private final URI uri;
+        private final Long userId;
+    }
+
+    private static class Entry {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+        private final String etag;
+        private volatile long freshUntil;
+
+        Entry(ResponseEntity<Object> response, byte[] body, long ttlNanos) {
+            response.getHeaders().forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+            this.body = body;
+            etag = response.getHeaders().getETag();
+            refresh(ttlNanos);
+        }
+
+        boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+
+        void refresh(long ttlNanos) {
+            freshUntil = System.nanoTime() + ttlNanos;
+        }
+
+        ResponseEntity<Object> toResponse() {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+    }
+}
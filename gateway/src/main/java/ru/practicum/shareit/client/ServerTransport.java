@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Способ обмена запросами с сервером, выбирается свойством shareit-server.transport:
+ * blocking — RestTemplate на общем пуле HttpClient, поток Tomcat ждет ответа сервера;
+ * reactive — WebClient на reactor-netty, поток Tomcat освобождается до прихода ответа.
+ * Ответ сервера не разбирается: статус и сквозные заголовки переносятся в ResponseEntity как есть.
+ * Ошибки соединения с сервером передаются как ResourceAccessException.
+ */
+public interface ServerTransport {
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body);
+}
@@ -2,16 +2,19 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.commentDto.CommentDto;
 import ru.practicum.shareit.item.itemDto.ItemDto;
 import ru.practicum.shareit.util.ValidatorGateway;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -21,52 +24,81 @@ public class ItemClient extends BaseClient {
 
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
-                      ValidatorGateway validator) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache, ValidatorGateway validator) {
+        super(transport, responseCache, serverUrl + API_PREFIX);
         this.validator = validator;
     }
 
-    public ResponseEntity<Object> addNewItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addNewItem(long userId, ItemDto itemDto) {
         validator.validateId(userId);
         validator.validateItemAll(itemDto);
-        return post("", userId, itemDto);
+        return post("", userId, itemDto)
+                .doFinally(signal -> {
+                    responseCache.evict(ResponseCache.Route.SEARCH);
+                    if (itemDto.getRequestId() != null) {
+                        responseCache.evict(ResponseCache.Route.REQUESTS, itemDto.getRequestId());
+                    }
+                });
+    }
+
+    /**
+     * Файл импорта проверяется на сервере построчно, gateway передает его без разбора
+     */
+    public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType, InputStream body) {
+        validator.validateId(userId);
+        return postStream("/import", userId, contentType, body)
+                .doFinally(signal -> {
+                    responseCache.evict(ResponseCache.Route.SEARCH);
+                    responseCache.evict(ResponseCache.Route.REQUESTS);
+                });
+    }
+
+    public Mono<ResponseEntity<Object>> findItemById(long userId, long itemId) {
+        validator.validateId(userId);
+        validator.validateId(itemId);
+        return cachedGet(ResponseCache.Route.ITEMS, itemId, "/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> findItemById(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> findAvailability(long userId, long itemId, LocalDateTime start,
+                                                         LocalDateTime end) {
         validator.validateId(userId);
         validator.validateId(itemId);
-        return get("/" + itemId, userId);
+        validator.validatePeriod(start, end);
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end
+        );
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parameters);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
         validator.validateId(userId);
         validator.validateId(itemId);
         validator.validateForUpdateItem(itemDto);
-        return patch("/" + itemId, userId, itemDto);
+        return patch("/" + itemId, userId, itemDto)
+                .doFinally(signal -> evictItem(itemId));
     }
 
-    public ResponseEntity<Object> findItemByText(String text, long userId, int[] page) {
+    public Mono<ResponseEntity<Object>> findItemByText(String text, long userId, int[] page) {
         validator.validatePage(page[0], page[1]);
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", page[0],
                 "size", page[1]
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return cachedGet(ResponseCache.Route.SEARCH, 0, "/search?text={text}&from={from}&size={size}", userId,
+                parameters);
     }
 
-    public void deleteItem(long userId, long itemId) {
+    public Mono<Void> deleteItem(long userId, long itemId) {
         validator.validateId(userId);
         validator.validateId(itemId);
-        delete("/" + itemId, userId);
+        return delete("/" + itemId, userId)
+                .doFinally(signal -> evictItem(itemId));
     }
 
-    public ResponseEntity<Object> findAllByUserId(long userId, int[] page) {
+    public Mono<ResponseEntity<Object>> findAllByUserId(long userId, int[] page) {
         validator.validateId(userId);
         validator.validatePage(page[0], page[1]);
         Map<String, Object> parameters = Map.of(
@@ -76,10 +108,20 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
         validator.validateId(userId);
         validator.validateId(itemId);
         validator.validateCommentText(commentDto);
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doFinally(signal -> responseCache.evict(ResponseCache.Route.ITEMS, itemId));
+    }
+
+    /**
+     * Предмет входит в ответы поиска и запросов вещей, на которые он создан
+     */
+    private void evictItem(long itemId) {
+        responseCache.evict(ResponseCache.Route.ITEMS, itemId);
+        responseCache.evict(ResponseCache.Route.SEARCH);
+        responseCache.evict(ResponseCache.Route.REQUESTS);
     }
 }
\ No newline at end of file
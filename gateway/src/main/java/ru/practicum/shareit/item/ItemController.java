@@ -2,14 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.commentDto.CommentDto;
 import ru.practicum.shareit.item.itemDto.ItemDto;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/items")
@@ -22,68 +29,90 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader(HEADER) long userId, @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader(HEADER) long userId, @RequestBody ItemDto itemDto) {
         log.info("GATEWAY start addItem: userId = {}, itemDto = {}", userId, itemDto);
-        ResponseEntity<Object> responseEntity = itemClient.addNewItem(userId, itemDto);
-        log.info("GATEWAY end addItem: item = {}", responseEntity);
-        return responseEntity;
+        return itemClient.addNewItem(userId, itemDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end addItem: status = {}",
+                        responseEntity.getStatusCode()));
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader(HEADER) long userId,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    HttpServletRequest request) throws IOException {
+        log.info("GATEWAY start importItems: userId = {}, contentType = {}", userId, contentType);
+        return itemClient.importItems(userId, contentType, request.getInputStream())
+                .doOnNext(responseEntity -> log.info("GATEWAY end importItems: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(HEADER) long userId, @RequestBody ItemDto itemDto,
-                                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(HEADER) long userId, @RequestBody ItemDto itemDto,
+                                                   @PathVariable long itemId) {
         log.info("GATEWAY start updateItem: userId = {}, itemId = {}, itemDto {}", userId, itemId, itemDto);
-        ResponseEntity<Object> responseEntity = itemClient.updateItem(userId, itemId, itemDto);
-        log.info("GATEWAY end updateItem: item = {}", responseEntity);
-        return responseEntity;
+        return itemClient.updateItem(userId, itemId, itemDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end updateItem: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findById(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
         log.info("GATEWAY start findById: userId = {}, itemId = {}", userId, itemId);
-        ResponseEntity<Object> responseEntity = itemClient.findItemById(userId, itemId);
-        log.info("GATEWAY end findById: item = {}", responseEntity);
-        return responseEntity;
+        return itemClient.findItemById(userId, itemId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end findById: status = {}",
+                        responseEntity.getStatusCode()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> findAvailability(
+            @RequestHeader(HEADER) long userId, @PathVariable long itemId,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("GATEWAY start findAvailability: userId = {}, itemId = {}, start = {}, end = {}",
+                userId, itemId, start, end);
+        return itemClient.findAvailability(userId, itemId, start, end)
+                .doOnNext(responseEntity -> log.info("GATEWAY end findAvailability: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemByText(
+    public Mono<ResponseEntity<Object>> findItemByText(
             @RequestHeader(HEADER) Long userId,
             @RequestParam(value = "text") String text,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") int from,
             @Positive @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
         log.info("GATEWAY start findItemByText: text = {}, from={}, size={}", text, from, size);
         int[] page = {from, size};
-        ResponseEntity<Object> responseEntity = itemClient.findItemByText(text, userId, page);
-        log.info("GATEWAY end findItemByText: items = {}", responseEntity);
-        return responseEntity;
+        return itemClient.findItemByText(text, userId, page)
+                .doOnNext(responseEntity -> log.info("GATEWAY end findItemByText: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(
+    public Mono<ResponseEntity<Object>> findAllByUserId(
             @RequestHeader(HEADER) long userId,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") int from,
             @Positive @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
         log.info("GATEWAY start findAllByUserId: user id = {} from={}, size={}", userId, from, size);
         int[] page = {from, size};
-        ResponseEntity<Object> responseEntity = itemClient.findAllByUserId(userId, page);
-        log.info("GATEWAY end findAllByUserId: items = {}", responseEntity);
-        return responseEntity;
+        return itemClient.findAllByUserId(userId, page)
+                .doOnNext(responseEntity -> log.info("GATEWAY end findAllByUserId: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @DeleteMapping("/{itemId}")
-    public void deleteItem(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
+    public Mono<Void> deleteItem(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
         log.info("GATEWAY start deleteItem: itemId = {}, userId = {}", itemId, userId);
-        itemClient.deleteItem(userId, itemId);
-        log.info("GATEWAY end deleteItem: item = {}", itemId);
+        return itemClient.deleteItem(userId, itemId)
+                .doOnSuccess(ignored -> log.info("GATEWAY end deleteItem: item = {}", itemId));
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(HEADER) long userId, @PathVariable long itemId,
-                                             @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(HEADER) long userId, @PathVariable long itemId,
+                                                   @RequestBody CommentDto commentDto) {
         log.info("GATEWAY start addComment: userId = {}, comment = {}, itemId = {}", userId, commentDto, itemId);
-        ResponseEntity<Object> responseEntity = itemClient.addComment(userId, itemId, commentDto);
-        log.info("GATEWAY end addComment: comment = {}", responseEntity);
-        return responseEntity;
+        return itemClient.addComment(userId, itemId, commentDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end addComment: status = {}",
+                        responseEntity.getStatusCode()));
     }
 }
\ No newline at end of file
@@ -2,12 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.requestDto.RequestDto;
 import ru.practicum.shareit.util.ValidatorGateway;
 
@@ -20,28 +20,34 @@ public class RequestClient extends BaseClient {
     private final ValidatorGateway validator;
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
-                         ValidatorGateway validator) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                         ResponseCache responseCache, ValidatorGateway validator) {
+        super(transport, responseCache, serverUrl + API_PREFIX);
         this.validator = validator;
     }
 
-    public ResponseEntity<Object> addRequest(long userId, RequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addRequest(long userId, RequestDto requestDto) {
         validator.validateId(userId);
         validator.validateItemRequestDesc(requestDto);
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getOwnRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(long userId) {
         validator.validateId(userId);
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, int[] page) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(long userId, int[] page) {
+        validator.validateId(userId);
+        validator.validatePage(page[0], page[1]);
+        Map<String, Object> parameters = Map.of(
+                "from", page[0],
+                "size", page[1]
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, int[] page) {
         validator.validateId(userId);
         validator.validatePage(page[0], page[1]);
         Map<String, Object> parameters = Map.of(
@@ -51,9 +57,9 @@ public class RequestClient extends BaseClient {
         return get("/all/?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequest(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(long userId, long requestId) {
         validator.validateId(userId);
         validator.validateId(requestId);
-        return get("/" + requestId, userId);
+        return cachedGet(ResponseCache.Route.REQUESTS, requestId, "/" + requestId, userId, null);
     }
 }
\ No newline at end of file
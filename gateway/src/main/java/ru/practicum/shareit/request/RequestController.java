@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.requestDto.RequestDto;
 
 import javax.validation.constraints.Positive;
@@ -22,39 +23,45 @@ public class RequestController {
 
 
     @PostMapping
-    public ResponseEntity<Object> addNewItemRequest(@RequestHeader(HEADER) long userId,
-                                                    @RequestBody RequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addNewItemRequest(@RequestHeader(HEADER) long userId,
+                                                          @RequestBody RequestDto requestDto) {
         log.info("GATEWAY start addNewItemRequest: userId = {}, requestDto =  {}", userId, requestDto);
-        ResponseEntity<Object> responseEntity = requestClient.addRequest(userId, requestDto);
-        log.info("GATEWAY end addNewItemRequest: request =  {}", responseEntity);
-        return responseEntity;
+        return requestClient.addRequest(userId, requestDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end addNewItemRequest: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnRequests(@RequestHeader(HEADER) long userId) {
-        log.info("GATEWAY start getOwnRequests: userId = {}", userId);
-        ResponseEntity<Object> responseEntity = requestClient.getOwnRequests(userId);
-        log.info("GATEWAY end getOwnRequests: request =  {}", responseEntity);
-        return responseEntity;
+    public Mono<ResponseEntity<Object>> getOwnRequests(
+            @RequestHeader(HEADER) long userId,
+            @PositiveOrZero @RequestParam(value = "from", required = false) Integer from,
+            @Positive @RequestParam(value = "size", required = false) Integer size) {
+        log.info("GATEWAY start getOwnRequests: userId = {}, from = {} and size = {}", userId, from, size);
+        Mono<ResponseEntity<Object>> response = size == null
+                ? requestClient.getOwnRequests(userId)
+                : requestClient.getOwnRequests(userId, new int[]{from == null ? 0 : from, size});
+        return response
+                .doOnNext(responseEntity -> log.info("GATEWAY end getOwnRequests: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @RequestHeader(HEADER) long userId,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") int from,
             @Positive @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
         log.info("GATEWAY start getAllRequests: userId = {}, from = {} and size = {}", userId, from, size);
         int[] page = {from, size};
-        ResponseEntity<Object> responseEntity = requestClient.getAllRequests(userId, page);
-        log.info("GATEWAY end getAllRequests: request =  {}", responseEntity);
-        return responseEntity;
+        return requestClient.getAllRequests(userId, page)
+                .doOnNext(responseEntity -> log.info("GATEWAY end getAllRequests: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader(HEADER) long userId, @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(@RequestHeader(HEADER) long userId, @PathVariable long requestId) {
         log.info("GATEWAY start getRequest: userId =  {}, requestId =  {}", userId, requestId);
-        ResponseEntity<Object> responseEntity = requestClient.getRequest(userId, requestId);
-        log.info("GATEWAY end getRequest: request =  {}", responseEntity);
-        return responseEntity;
+        return requestClient.getRequest(userId, requestId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end getRequest: status = {}",
+                        responseEntity.getStatusCode()));
     }
 }
\ No newline at end of file
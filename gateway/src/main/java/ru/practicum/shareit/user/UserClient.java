@@ -2,12 +2,12 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.user.userDto.UserDto;
 import ru.practicum.shareit.util.ValidatorGateway;
 
@@ -18,38 +18,36 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
-                      ValidatorGateway validator) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache, ValidatorGateway validator) {
+        super(transport, responseCache, serverUrl + API_PREFIX);
         this.validator = validator;
     }
 
-    public ResponseEntity<Object> addNewUser(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addNewUser(UserDto userDto) {
         validator.validateUserDTO(userDto);
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(UserDto userDto, long userId) {
         validator.validateId(userId);
         validator.validateEmailUser(userDto);
-        return patch("/" + userId, userDto);
+        return patch("/" + userId, userDto)
+                .doFinally(signal -> responseCache.evict(ResponseCache.Route.USERS, userId));
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public void deleteUser(long userId) {
+    public Mono<Void> deleteUser(long userId) {
         validator.validateId(userId);
-        delete("/" + userId);
+        return delete("/" + userId)
+                .doFinally(signal -> responseCache.evictAll());
     }
 
-    public ResponseEntity<Object> findById(long userId) {
+    public Mono<ResponseEntity<Object>> findById(long userId) {
         validator.validateId(userId);
-        return get("/" + userId);
+        return cachedGet(ResponseCache.Route.USERS, userId, "/" + userId, null, null);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.userDto.UserDto;
 
 @RestController
@@ -15,41 +16,41 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addNewUser(@RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addNewUser(@RequestBody UserDto userDto) {
         log.info("GATEWAY start addNewUser: userDto = {}", userDto);
-        ResponseEntity<Object> responseEntity = userClient.addNewUser(userDto);
-        log.info("GATEWAY end addNewUser: user =  {}", responseEntity);
-        return responseEntity;
+        return userClient.addNewUser(userDto)
+                .doOnNext(responseEntity -> log.info("GATEWAY end addNewUser: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto, @PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody UserDto userDto, @PathVariable long userId) {
         log.info("GATEWAY start updateUser: userId = {}, userDto = {}", userId, userDto);
-        ResponseEntity<Object> responseEntity = userClient.updateUser(userDto, userId);
-        log.info("GATEWAY end updateUser: user {}", responseEntity);
-        return responseEntity;
+        return userClient.updateUser(userDto, userId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end updateUser: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GATEWAY start: Get all users");
-        ResponseEntity<Object> responseEntity = userClient.getUsers();
-        log.info("GATEWAY end getAllUsers: users = {}", responseEntity);
-        return responseEntity;
+        return userClient.getUsers()
+                .doOnNext(responseEntity -> log.info("GATEWAY end getAllUsers: status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable long userId) {
         log.info("GATEWAY start: Get userId = {}", userId);
-        ResponseEntity<Object> responseEntity = userClient.findById(userId);
-        log.info("GATEWAY end: Get user = {}", responseEntity);
-        return responseEntity;
+        return userClient.findById(userId)
+                .doOnNext(responseEntity -> log.info("GATEWAY end: Get user status = {}",
+                        responseEntity.getStatusCode()));
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUserById(@PathVariable long userId) {
+    public Mono<Void> deleteUserById(@PathVariable long userId) {
         log.info("GATEWAY start: Delete user id = {}", userId);
-        userClient.deleteUser(userId);
-        log.info("GATEWAY end: Delete user id = {}", userId);
+        return userClient.deleteUser(userId)
+                .doOnSuccess(ignored -> log.info("GATEWAY end: Delete user id = {}", userId));
     }
 }
\ No newline at end of file
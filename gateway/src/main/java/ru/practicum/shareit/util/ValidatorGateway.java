@@ -11,10 +11,18 @@ import ru.practicum.shareit.request.requestDto.RequestDto;
 import ru.practicum.shareit.user.userDto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
 public class ValidatorGateway {
+    private static final int MAX_BOOKINGS_PER_UPDATE = 1000;
+    /**
+     * Выражение компилируется один раз: Pattern неизменяем и потокобезопасен, на вызов создается только Matcher
+     */
+    private static final Pattern EMAIL = Pattern.compile("^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+"
+            + "@((\\[[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\])|(([a-zA-Z\\-0-9]+\\.)+[a-zA-Z]{2,}))$");
 
     public void validateId(Long id) {
         if (id == null) {
@@ -34,7 +42,8 @@ public class ValidatorGateway {
     }
 
     private void validateNameUser(UserDto userDto) {
-        if (userDto.getName().isEmpty() || userDto.getName().contains(" ")) {
+        String name = userDto.getName();
+        if (name == null || name.isEmpty() || name.indexOf(' ') >= 0) {
             log.warn("Логин не должен быть пустым и не должен содержать пробелов");
             throw new ValidationException("некорректный логин");
         }
@@ -53,11 +62,7 @@ public class ValidatorGateway {
                 log.warn("отсутствует адрес электронной почты: {}", userDto.getEmail());
                 throw new ValidationException("email отсутствует");
             }
-            String patternEmail = "^[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+" +
-                    "@((\\[[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\])|(([a-zA-Z\\-0-9]+\\.)+[a-zA-Z]{2,}))$";
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(patternEmail);
-            java.util.regex.Matcher matcher = pattern.matcher(userDto.getEmail());
-            if (!matcher.matches()) {
+            if (!EMAIL.matcher(userDto.getEmail()).matches()) {
                 log.warn("Некорректный адрес электронной почты: {}", userDto.getEmail());
                 throw new ValidationException("некорректный email");
             }
@@ -83,7 +88,7 @@ public class ValidatorGateway {
     }
 
     public void validateCommentText(CommentDto commentDto) {
-        if (commentDto.getText().isEmpty()) {
+        if (commentDto.getText() == null || commentDto.getText().isEmpty()) {
             log.warn("Комментарий не должен быть пустым!");
             throw new ValidationException("Комментарий не должен быть пустым!");
         }
@@ -141,7 +146,12 @@ public class ValidatorGateway {
     public void validateTimeBooking(BookingDto bookingDto) {
         LocalDateTime startTime = bookingDto.getStart();
         LocalDateTime endTime = bookingDto.getEnd();
-        if (endTime.isBefore(LocalDateTime.now())) {
+        if (startTime == null || endTime == null) {
+            log.warn("Не указано время начала или окончания брони");
+            throw new ValidationException("Время начала и окончания брони должно быть указано");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (endTime.isBefore(now)) {
             log.warn("Время окончания брони раньше текущего времени");
             throw new ValidationException("Время окончания брони раньше текущего времени");
         }
@@ -149,12 +159,32 @@ public class ValidatorGateway {
             log.warn("Время окончания раньше начала брони");
             throw new ValidationException("Время окончания раньше начала брони");
         }
-        if (startTime.isBefore(LocalDateTime.now())) {
+        if (startTime.isBefore(now)) {
             log.warn("Время начала брони раньше текущего времени");
             throw new ValidationException("Время начала брони раньше текущего времени");
         }
     }
 
+    public void validatePeriod(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            log.warn("Начало периода не раньше его окончания");
+            throw new ValidationException("Начало периода должно быть раньше окончания");
+        }
+    }
+
+    public void validateBookingIds(List<Long> bookingIds) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            log.warn("Список бронирований пуст");
+            throw new ValidationException("Список бронирований не может быть пустым");
+        }
+        if (bookingIds.size() > MAX_BOOKINGS_PER_UPDATE) {
+            log.warn("В списке {} бронирований", bookingIds.size());
+            throw new ValidationException(String.format("В списке не может быть больше %d бронирований",
+                    MAX_BOOKINGS_PER_UPDATE));
+        }
+        bookingIds.forEach(this::validateId);
+    }
+
     public void validateApprovedBooking(Boolean approved) {
         if (approved == null) {
             log.warn("Approved не может быть пустым");
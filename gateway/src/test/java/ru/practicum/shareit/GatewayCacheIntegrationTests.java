@@ -0,0 +1,176 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Кэш ответов gateway через настоящие контроллеры и транспорт против заглушки сервера ShareIt.
+ * Ответы на предметы перепроверяются при каждом запросе (items-ttl=0), ответы поиска свежи час.
+ * Заглушка отдает ETag версии предмета и отвечает 304 на совпадающий If-None-Match.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-gateway.cache.items-ttl=0s",
+        "shareit-gateway.cache.search-ttl=1h"})
+public class GatewayCacheIntegrationTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final StubServer SERVER = new StubServer();
+    @Autowired
+    private WebTestClient client;
+    @Autowired
+    private ResponseCache responseCache;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", SERVER::url);
+    }
+
+    @BeforeEach
+    void setUp() {
+        responseCache.evictAll();
+        SERVER.reset();
+    }
+
+    @Test
+    @DisplayName("Перепроверка предмета: 304 сервера отдается клиенту сохраненным телом")
+    void revalidation() {
+        getItem(1).expectStatus().isOk().expectBody().jsonPath("$.name").isEqualTo("item1-v1");
+        getItem(1).expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-v1\"")
+                .expectBody().jsonPath("$.name").isEqualTo("item1-v1");
+        assertEquals(List.of("GET /items/1 -", "GET /items/1 \"1-v1\""), SERVER.requests());
+    }
+
+    @Test
+    @DisplayName("Изменение предмета удаляет его ответ и поиск, следующий GET идет без If-None-Match")
+    void evictionOnUpdate() {
+        getItem(1).expectStatus().isOk();
+        search().expectStatus().isOk();
+        search().expectStatus().isOk();
+        client.patch().uri("/items/1").header(HEADER, "1")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{\"name\":\"new\"}")
+                .exchange()
+                .expectStatus().isOk();
+        getItem(1).expectStatus().isOk().expectBody().jsonPath("$.name").isEqualTo("item1-v2");
+        search().expectStatus().isOk();
+        assertEquals(List.of("GET /items/1 -", "GET /items/search -", "PATCH /items/1 -", "GET /items/1 -",
+                "GET /items/search -"), SERVER.requests());
+    }
+
+    @Test
+    @DisplayName("Ответы с ошибкой не кэшируются")
+    void errorsNotCached() {
+        getItem(404).expectStatus().isNotFound();
+        getItem(404).expectStatus().isNotFound();
+        assertEquals(List.of("GET /items/404 -", "GET /items/404 -"), SERVER.requests());
+    }
+
+    private WebTestClient.ResponseSpec getItem(long itemId) {
+        return client.get().uri("/items/{id}", itemId).header(HEADER, "1").exchange();
+    }
+
+    private WebTestClient.ResponseSpec search() {
+        return client.get().uri("/items/search?text=item").header(HEADER, "1").exchange();
+    }
+
+    /**
+     * Заглушка сервера: GET и PATCH /items/{id} с версией предмета, которая растет после PATCH,
+     * поиск с ETag по той же версии. Предмет 404 не существует.
+     * Одна заглушка на все контексты тестов, работает в потоках-демонах до конца JVM
+     */
+    static class StubServer {
+        private final HttpServer server;
+        private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger version = new AtomicInteger(1);
+
+        StubServer() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "stub-server");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/items", this::handle);
+            server.start();
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        List<String> requests() {
+            return List.copyOf(requests);
+        }
+
+        void reset() {
+            requests.clear();
+            version.set(1);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                String path = exchange.getRequestURI().getPath();
+                String ifNoneMatch = exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+                requests.add(exchange.getRequestMethod() + " " + path + " "
+                        + (ifNoneMatch == null ? "-" : ifNoneMatch));
+                if (path.equals("/items/404")) {
+                    send(exchange, 404, null, "{\"error\":\"not found\"}");
+                    return;
+                }
+                if (exchange.getRequestMethod().equals("PATCH")) {
+                    version.incrementAndGet();
+                }
+                String id = path.substring(path.lastIndexOf('/') + 1);
+                String etag = "\"" + id + "-v" + version.get() + "\"";
+                if (etag.equals(ifNoneMatch)) {
+                    exchange.getResponseHeaders().set(HttpHeaders.ETAG, etag);
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                String body = id.equals("search") ? "[]"
+                        : "{\"id\":" + id + ",\"name\":\"item" + id + "-v" + version.get() + "\"}";
+                send(exchange, 200, etag, body);
+            }
+        }
+
+        private void send(HttpExchange exchange, int status, String etag, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            if (etag != null) {
+                exchange.getResponseHeaders().set(HttpHeaders.ETAG, etag);
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
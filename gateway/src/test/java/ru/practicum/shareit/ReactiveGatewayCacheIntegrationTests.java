@@ -0,0 +1,13 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Те же проверки кэша с реактивным транспортом WebClient
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.transport=reactive",
+        "shareit-gateway.cache.items-ttl=0s",
+        "shareit-gateway.cache.search-ttl=1h"})
+public class ReactiveGatewayCacheIntegrationTests extends GatewayCacheIntegrationTests {
+}
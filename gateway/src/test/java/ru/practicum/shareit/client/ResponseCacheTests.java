@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTests {
+    private static final ResponseCache.Key ITEM = key(ResponseCache.Route.ITEMS, 1);
+    private static final ResponseCache.Key OTHER_ITEM = key(ResponseCache.Route.ITEMS, 2);
+    private static final ResponseCache.Key SEARCH = key(ResponseCache.Route.SEARCH, 0);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Свежий ответ отдается из кэша без обращения к серверу")
+    void fresh() {
+        ResponseCache cache = cache(Duration.ofHours(1));
+        Server server = new Server().reply(ok("v1", "first"));
+        assertBody("first", cache.get(ITEM, server).block());
+        assertBody("first", cache.get(ITEM, server).block());
+        assertEquals(1, server.requests.size());
+        assertNull(server.requests.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    @DisplayName("Ответ 304 на перепроверку отдает сохраненное тело и продлевает запись")
+    void notModified() {
+        ResponseCache cache = cache(Duration.ZERO);
+        Server server = new Server().reply(ok("v1", "first")).reply(status(HttpStatus.NOT_MODIFIED));
+        cache.get(ITEM, server).block();
+        ResponseEntity<Object> response = cache.get(ITEM, server).block();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertBody("first", response);
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals(List.of("\"v1\""), server.requests.get(1).getIfNoneMatch());
+        assertEquals(1, revalidations("not_modified"));
+        assertEquals(0, revalidations("modified"));
+    }
+
+    @Test
+    @DisplayName("Ответ 200 на перепроверку заменяет запись")
+    void modified() {
+        ResponseCache cache = cache(Duration.ZERO);
+        Server server = new Server().reply(ok("v1", "first")).reply(ok("v2", "second"))
+                .reply(status(HttpStatus.NOT_MODIFIED));
+        cache.get(ITEM, server).block();
+        assertBody("second", cache.get(ITEM, server).block());
+        assertBody("second", cache.get(ITEM, server).block());
+        assertEquals(List.of("\"v2\""), server.requests.get(2).getIfNoneMatch());
+        assertEquals(1, revalidations("modified"));
+    }
+
+    @Test
+    @DisplayName("Кэшируются только ответы 200, ошибка удаляет сохраненную запись")
+    void onlyOk() {
+        ResponseCache cache = cache(Duration.ZERO);
+        Server server = new Server().reply(status(HttpStatus.NOT_FOUND)).reply(ok("v1", "first"))
+                .reply(status(HttpStatus.NOT_FOUND)).reply(ok("v2", "second"));
+        assertEquals(HttpStatus.NOT_FOUND, cache.get(ITEM, server).block().getStatusCode());
+        cache.get(ITEM, server).block();
+        assertEquals(HttpStatus.NOT_FOUND, cache.get(ITEM, server).block().getStatusCode());
+        cache.get(ITEM, server).block();
+        assertNull(server.requests.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(List.of("\"v1\""), server.requests.get(2).getIfNoneMatch());
+        assertNull(server.requests.get(3).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    @DisplayName("Удаление записей по ресурсу, маршруту и всех записей")
+    void evict() {
+        ResponseCache cache = cache(Duration.ofHours(1));
+        Server server = new Server();
+        for (int i = 0; i < 8; i++) {
+            server.reply(ok("v" + i, "body" + i));
+        }
+        cache.get(ITEM, server).block();
+        cache.get(OTHER_ITEM, server).block();
+        cache.get(SEARCH, server).block();
+        cache.evict(ResponseCache.Route.ITEMS, 1);
+        cache.get(ITEM, server).block();
+        cache.get(OTHER_ITEM, server).block();
+        cache.get(SEARCH, server).block();
+        assertEquals(4, server.requests.size());
+
+        cache.evict(ResponseCache.Route.ITEMS);
+        cache.get(ITEM, server).block();
+        cache.get(OTHER_ITEM, server).block();
+        cache.get(SEARCH, server).block();
+        assertEquals(6, server.requests.size());
+
+        cache.evictAll();
+        cache.get(SEARCH, server).block();
+        assertEquals(7, server.requests.size());
+    }
+
+    @Test
+    @DisplayName("Ответ на GET, во время которого запись удалена изменением, не сохраняется")
+    void evictedDuringRequest() {
+        ResponseCache cache = cache(Duration.ofHours(1));
+        Server server = new Server().reply(ok("v1", "stale")).reply(ok("v2", "fresh"));
+        Function<HttpHeaders, Mono<ResponseEntity<Object>>> mutatedMeanwhile = headers -> server.apply(headers)
+                .doOnNext(response -> cache.evict(ResponseCache.Route.ITEMS, 1));
+        assertBody("stale", cache.get(ITEM, mutatedMeanwhile).block());
+        assertBody("fresh", cache.get(ITEM, server).block());
+        assertBody("fresh", cache.get(ITEM, server).block());
+        assertEquals(2, server.requests.size());
+        assertNull(server.requests.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private ResponseCache cache(Duration ttl) {
+        return new ResponseCache(ttl, ttl, ttl, ttl, DataSize.ofMegabytes(1), Duration.ofMinutes(10),
+                meterRegistry);
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry.counter("gateway.cache.revalidations", "result", result).count();
+    }
+
+    private static ResponseCache.Key key(ResponseCache.Route route, long resourceId) {
+        return new ResponseCache.Key(route, resourceId, URI.create("http://server/" + route + "/" + resourceId), 1L);
+    }
+
+    private static ResponseEntity<Object> ok(String etag, String body) {
+        return ResponseEntity.ok().eTag(etag).body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<Object> status(HttpStatus status) {
+        return ResponseEntity.status(status).build();
+    }
+
+    private static void assertBody(String expected, ResponseEntity<Object> response) {
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    /**
+     * Заглушка обмена с сервером: отдает ответы по очереди и запоминает заголовки запросов
+     */
+    private static class Server implements Function<HttpHeaders, Mono<ResponseEntity<Object>>> {
+        private final Deque<ResponseEntity<Object>> replies = new ArrayDeque<>();
+        private final List<HttpHeaders> requests = new ArrayList<>();
+
+        Server reply(ResponseEntity<Object> response) {
+            replies.add(response);
+            return this;
+        }
+
+        @Override
+        public Mono<ResponseEntity<Object>> apply(HttpHeaders headers) {
+            return Mono.fromSupplier(() -> {
+                requests.add(headers);
+                return replies.remove();
+            });
+        }
+    }
+}
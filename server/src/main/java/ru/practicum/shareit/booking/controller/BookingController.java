@@ -1,12 +1,21 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -15,11 +24,16 @@ import java.util.List;
 public class BookingController {
 
     private static final String HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, UserService userService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -44,12 +58,64 @@ public class BookingController {
         return bookingService.getBookingsByOwnerId(userId, state, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDto>> getAllBookingsFromUserAfterCursor(
+            @RequestHeader(HEADER) long userId,
+            @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+        log.info("UserBooker {} get own bookings state = {} after cursor = {}, size = {}",
+                userId, state, cursor, size);
+        return withNextCursor(bookingService.getBookingsByBookerIdAfterCursor(userId, state, cursor, size), size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingDto>> getBookingByIdOwnerAfterCursor(
+            @RequestHeader(HEADER) long userId,
+            @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+        log.info("UserOwner {} get bookings for items state = {} after cursor = {}, size = {}",
+                userId, state, cursor, size);
+        return withNextCursor(bookingService.getBookingsByOwnerIdAfterCursor(userId, state, cursor, size), size);
+    }
+
+    /**
+     * Выгрузка всех бронирований пользователя в NDJSON. Пользователь проверяется до начала ответа,
+     * бронирования пишутся в ответ по мере чтения курсором
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsFromUser(@RequestHeader(HEADER) long userId) {
+        log.info("UserBooker {} exports all own bookings", userId);
+        userService.findUserDtoById(userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingService.exportBookingsByBookerId(userId, booking -> writeLine(out, booking)));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(@RequestHeader(HEADER) long userId) {
+        log.info("UserOwner {} exports all bookings for items", userId);
+        userService.findUserDtoById(userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingService.exportBookingsByOwnerId(userId, booking -> writeLine(out, booking)));
+    }
+
     @PostMapping
     public BookingDto addBooking(@RequestHeader(HEADER) long userId, @RequestBody BookingDtoOnlyId bookingDto) {
         log.info("User {} create booking {}", userId, bookingDto);
         return bookingService.addBooking(userId, bookingDto);
     }
 
+    @PatchMapping
+    public List<BookingDto> updateStatusBookings(@RequestHeader(HEADER) long userId,
+                                                 @RequestParam Boolean approved,
+                                                 @RequestBody List<Long> bookingIds) {
+        log.info("UserOwner {} update status of bookings {}, approved = {}", userId, bookingIds, approved);
+        return bookingService.updateStatusBookings(userId, bookingIds, approved);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateStatusBooking(@RequestHeader(HEADER) long userId,
                                           @RequestParam Boolean approved, @PathVariable long bookingId) {
@@ -62,4 +128,24 @@ public class BookingController {
         log.info("User {} get booking id = {}", userId, bookingId);
         return bookingService.getBookingById(userId, bookingId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Добавление курсора следующей страницы в заголовок ответа, если страница заполнена целиком
+     */
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
+    }
+
+    private void writeLine(OutputStream out, BookingDto booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(booking));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в списке бронирований для постраничной выборки по ключу (start, id).
+ * start — дата начала последнего полученного бронирования;
+ * id — id последнего полученного бронирования.
+ */
+@Data
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+    private static final LocalDateTime FIRST_PAGE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final LocalDateTime start;
+    private final long id;
+
+    /**
+     * Курсор первой страницы: все бронирования лежат до него
+     */
+    public static BookingCursor first() {
+        return new BookingCursor(FIRST_PAGE_START, Long.MAX_VALUE);
+    }
+
+    /**
+     * Курсор, указывающий на переданное бронирование
+     */
+    public static BookingCursor of(BookingDto bookingDto) {
+        return new BookingCursor(bookingDto.getStart(), bookingDto.getId());
+    }
+
+    /**
+     * Разбор курсора из строки, пустая строка означает первую страницу
+     *
+     * @param cursor закодированный курсор
+     */
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException(String.format("некорректный курсор '%s'", cursor));
+        }
+    }
+
+    public String encode() {
+        String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
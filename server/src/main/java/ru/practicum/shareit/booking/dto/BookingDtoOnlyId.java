@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
@@ -14,6 +16,8 @@ import java.time.LocalDateTime;
  * status — статус бронирования.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingDtoOnlyId {
     private long id;
     private LocalDateTime start;
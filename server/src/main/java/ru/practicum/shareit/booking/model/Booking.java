@@ -14,20 +14,25 @@ import java.time.LocalDateTime;
  * start — дата начала бронирования;
  * end — дата конца бронирования;
  * status — статус бронирования;
+ * version — версия для оптимистической блокировки, параллельное подтверждение одного бронирования завершится ошибкой;
+ * Граф Booking.details загружает вместе с бронированием вещь, ее владельца и арендатора одним запросом.
  */
 @Data
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.details",
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 @NoArgsConstructor
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "booking_id")
     private long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_user_id")
     private User booker;
     @Column(name = "start_date_time")
@@ -37,4 +42,7 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private BookingStatus status;
+    @Version
+    @Column(name = "version")
+    private long version;
 }
\ No newline at end of file
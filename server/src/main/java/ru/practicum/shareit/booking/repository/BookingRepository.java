@@ -1,91 +1,324 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Количество строк, которое курсор выгрузки бронирований читает из базы за одно обращение
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Получение бронирования по id вместе с вещью, ее владельцем и арендатором
+     */
+    @Override
+    @EntityGraph("Booking.details")
+    Optional<Booking> findById(Long bookingId);
+
+    /**
+     * Получение бронирований по списку id вместе с вещью, ее владельцем и арендатором одним запросом
+     *
+     * @param bookingIds id бронирований
+     */
+    @Query("select b from Booking b where b.id in ?1")
+    @EntityGraph("Booking.details")
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
+
+    /**
+     * Все бронирования пользователя вместе с вещью, ее владельцем и арендатором для выгрузки.
+     * Строки читаются курсором порциями по EXPORT_FETCH_SIZE, поток нужно закрыть внутри транзакции
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    Stream<Booking> streamAllByBookerId(long bookerId);
+
+    /**
+     * Все бронирования вещей владельца вместе с вещью и арендатором для выгрузки.
+     * Строки читаются курсором порциями по EXPORT_FETCH_SIZE, поток нужно закрыть внутри транзакции
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    Stream<Booking> streamAllByOwnerId(long ownerId);
 
     /**
      * Получение списка бронирований пользователя с учетом статуса
      */
     @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
 
     /**
      * Получение списка бронирований пользователя
      */
     @Query("select b from Booking b where b.booker.id = ?1 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
 
     /**
      * Получение списка будущих бронирований пользователя
      */
     @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findFutureBookingByBookerId(long bookerId, LocalDateTime now, Pageable pageable);
 
     /**
      * Получение списка прошедших бронирований пользователя
      */
     @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findPastBookingByBookerId(long bookerId, LocalDateTime now, Pageable pageable);
 
     /**
      * Получений списка текущих бронирований пользователя
      */
     @Query("select b from Booking b where b.booker.id = ?1 and b.start < ?2 and b.end > ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findCurrentBookingByBookerId(long bookerId, LocalDateTime now, Pageable pageable);
 
     /**
      * Получение списка бронирований владельца предметов  с учетом статуса
      */
     @Query("select b from Booking b where b.item.owner.id = ?1 and b.status = ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findBookingByOwnerIdAndStatus(long ownerId, BookingStatus status, Pageable pageable);
 
     /**
      * Получение списка бронирований владельца предметов
      */
     @Query("select b from Booking b where b.item.owner.id = ?1 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findAllByItemOwnerId(long ownerId, Pageable pageable);
 
     /**
      * Получение списка будущих бронирований владельца предметов
      */
     @Query("select b from Booking b where b.item.owner.id = ?1 and b.start > ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findFutureBookingByItemOwnerId(long ownerId, LocalDateTime now, Pageable pageable);
 
     /**
      * Получение списка прошедших бронирований владельца предметов
      */
     @Query("select b from Booking b where b.item.owner.id = ?1 and b.end < ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findPastBookingByItemOwnerId(long ownerId, LocalDateTime now, Pageable pageable);
 
     /**
      * Получение списка текущих бронирований владельца предметов
      */
     @Query("select b from Booking b where b.item.owner.id = ?1 and b.start < ?2 and b.end > ?2 order by b.start DESC")
+    @EntityGraph("Booking.details")
     List<Booking> findCurrentBookingByItemOwnerId(long ownerId, LocalDateTime now, Pageable pageable);
 
+    /**
+     * Получение страницы бронирований пользователя после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findAllByBookerIdAfterCursor(long bookerId, LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы бронирований пользователя с учетом статуса после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findByBookerIdAndStatusAfterCursor(long bookerId, BookingStatus status,
+                                                     LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы будущих бронирований пользователя после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findFutureBookingByBookerIdAfterCursor(long bookerId, LocalDateTime now,
+                                                         LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы прошедших бронирований пользователя после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findPastBookingByBookerIdAfterCursor(long bookerId, LocalDateTime now,
+                                                       LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы текущих бронирований пользователя после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.booker.id = ?1 and b.start < ?2 and b.end > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findCurrentBookingByBookerIdAfterCursor(long bookerId, LocalDateTime now,
+                                                          LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы бронирований владельца предметов после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findAllByItemOwnerIdAfterCursor(long ownerId, LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы бронирований владельца предметов с учетом статуса после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 and b.status = ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findBookingByOwnerIdAndStatusAfterCursor(long ownerId, BookingStatus status,
+                                                           LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы будущих бронирований владельца предметов после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 and b.start > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findFutureBookingByItemOwnerIdAfterCursor(long ownerId, LocalDateTime now,
+                                                            LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы прошедших бронирований владельца предметов после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 and b.end < ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findPastBookingByItemOwnerIdAfterCursor(long ownerId, LocalDateTime now,
+                                                          LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Получение страницы текущих бронирований владельца предметов после курсора (start, id)
+     */
+    @Query("select b from Booking b where b.item.owner.id = ?1 and b.start < ?2 and b.end > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) order by b.start desc, b.id desc")
+    @EntityGraph("Booking.details")
+    List<Booking> findCurrentBookingByItemOwnerIdAfterCursor(long ownerId, LocalDateTime now,
+                                                             LocalDateTime start, long id, Pageable pageable);
+
+    /**
+     * Ближайшее к now начало или окончание бронирований пользователя, не раньше now.
+     * До этого момента ни одно бронирование пользователя не меняет состояние CURRENT, PAST или FUTURE
+     */
+    @Query("select min(case when b.start >= ?2 then b.start else b.end end) from Booking b " +
+            "where b.booker.id = ?1 and b.end >= ?2")
+    LocalDateTime findNextStateChangeByBookerId(long bookerId, LocalDateTime now);
+
+    /**
+     * Ближайшее к now начало или окончание бронирований вещей владельца, не раньше now
+     */
+    @Query("select min(case when b.start >= ?2 then b.start else b.end end) from Booking b " +
+            "where b.item.owner.id = ?1 and b.end >= ?2")
+    LocalDateTime findNextStateChangeByItemOwnerId(long ownerId, LocalDateTime now);
+
     /**
      * Получение последнего бронирования
      */
+    @EntityGraph("Booking.details")
     Booking findFirstByItemOrderByEndDesc(Item item);
 
     /**
      * Получение следующего бронирования
      */
+    @EntityGraph("Booking.details")
     Booking findFirstByItemOrderByStartAsc(Item item);
 
+    /**
+     * Получение кратких данных о первом по началу и последнем по окончанию бронировании предмета одним запросом.
+     * Возвращаются все бронирования с минимальным start или максимальным end, упорядоченные по id
+     *
+     * @param itemId id предмета
+     */
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoOnlyId(" +
+            "b.id, b.start, b.end, b.item.id, b.booker.id, b.status) from Booking b " +
+            "where b.item.id = ?1 " +
+            "and (b.start = (select min(bs.start) from Booking bs where bs.item.id = ?1) " +
+            "or b.end = (select max(be.end) from Booking be where be.item.id = ?1)) order by b.id")
+    List<BookingDtoOnlyId> findLastAndNextBookingsByItemId(long itemId);
+
+    /**
+     * Постраничное получение кратких данных о незавершенных бронированиях в переданных статусах
+     * по возрастанию id, начиная после переданного id
+     *
+     * @param statuses статусы бронирований
+     * @param now      текущее время, бронирования с концом не позже него не выбираются
+     * @param id       id последнего полученного бронирования
+     * @param pageable количество бронирований в выборке
+     */
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoOnlyId(" +
+            "b.id, b.start, b.end, b.item.id, b.booker.id, b.status) from Booking b " +
+            "where b.status in ?1 and b.end > ?2 and b.id > ?3 order by b.id")
+    List<BookingDtoOnlyId> findByStatusInAndEndAfterAfterId(Collection<BookingStatus> statuses, LocalDateTime now,
+                                                            long id, Pageable pageable);
+
+    /**
+     * Получение последних бронирований для списка предметов одним запросом
+     *
+     * @param itemIds id предметов
+     */
+    @Query("select b from Booking b where b.item.id in ?1 and b.start = " +
+            "(select min(bs.start) from Booking bs where bs.item.id = b.item.id) order by b.id")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds);
+
+    /**
+     * Получение следующих бронирований для списка предметов одним запросом
+     *
+     * @param itemIds id предметов
+     */
+    @Query("select b from Booking b where b.item.id in ?1 and b.end = " +
+            "(select max(be.end) from Booking be where be.item.id = b.item.id) order by b.id")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds);
+
     /**
      * проверка что пользователь брал вещь в аренду
      */
     @Query("select b from Booking b where b.status <> ?1 and b.booker = ?2 and b.item = ?3 and b.start <= ?4")
     List<Booking> validateForTakeItem(BookingStatus bookingStatus, User user, Item item, LocalDateTime localDateTime);
+
+    /**
+     * Проверка пересечения периода [start, end) с бронированиями предмета в переданных статусах.
+     * Условие end > start покрывается индексом (item_id, end_date_time), поэтому просматриваются
+     * только бронирования, заканчивающиеся после начала периода
+     *
+     * @param itemId   id предмета
+     * @param statuses статусы бронирований, занимающих предмет
+     * @param start    начало периода
+     * @param end      конец периода
+     */
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.end > ?3 and b.start < ?4")
+    boolean existsOverlapping(long itemId, Collection<BookingStatus> statuses, LocalDateTime start,
+                              LocalDateTime end);
+
+    /**
+     * Сводка бронирований предмета: количество, наибольший id и сумма версий.
+     * Меняется при добавлении бронирования и изменении его статуса, используется в ETag предмета для владельца
+     *
+     * @param itemId id предмета
+     */
+    @Query("select concat(count(b), '-', coalesce(max(b.id), 0), '-', coalesce(sum(b.version), 0)) " +
+            "from Booking b where b.item.id = ?1")
+    String findVersionTagByItemId(long itemId);
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -17,6 +19,16 @@ public interface BookingService {
      */
     List<BookingDto> getBookingsByOwnerId(long userId, String state, int from, int size);
 
+    /**
+     * Получение страницы бронирований пользователя после курсора
+     */
+    List<BookingDto> getBookingsByBookerIdAfterCursor(long userId, String state, String cursor, int size);
+
+    /**
+     * Получение страницы бронирований для всех предметов пользователя после курсора
+     */
+    List<BookingDto> getBookingsByOwnerIdAfterCursor(long userId, String state, String cursor, int size);
+
     /**
      * Добавление нового бронирования
      */
@@ -27,8 +39,23 @@ public interface BookingService {
      */
     BookingDto updateStatusBooking(long userId, long bookingId, Boolean approved);
 
+    /**
+     * Обновление статуса списка бронирований владельцем одной транзакцией
+     */
+    List<BookingDto> updateStatusBookings(long userId, Collection<Long> bookingIds, Boolean approved);
+
     /**
      * Поиск бронирования
      */
     BookingDto getBookingById(long userId, long bookingId);
-}
\ No newline at end of file
+
+    /**
+     * Выгрузка всех бронирований пользователя: каждое бронирование передается в consumer по мере чтения
+     */
+    void exportBookingsByBookerId(long userId, Consumer<BookingDto> consumer);
+
+    /**
+     * Выгрузка всех бронирований вещей владельца: каждое бронирование передается в consumer по мере чтения
+     */
+    void exportBookingsByOwnerId(long userId, Consumer<BookingDto> consumer);
+}
@@ -1,37 +1,65 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.RequestClock;
 import ru.practicum.shareit.util.ValidatorServer;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final String BOOKINGS_CACHE = "bookings";
+    private static final Set<String> TIME_STATES = Set.of("CURRENT", "PAST", "FUTURE");
     private final BookingMapper bookingMapper;
     private final BookingRepository bookingRepository;
     private final ValidatorServer validator;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
+    private final RequestClock requestClock;
+    private final CacheManager cacheManager;
 
     /**
      * Получение списка всех бронирований пользователя.
+     * Список кэшируется в кэше bookings, см. cached(). Кэш сбрасывается при изменении бронирований,
+     * пользователей и предметов
      *
      * @param userId id пользователя
      * @param state  состояние бронирования
@@ -40,31 +68,13 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingDto> getBookingsByBookerId(long userId, String state, int from, int size) {
         validator.validateAndReturnUserByUserId(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "end"));
-        List<Booking> bookings = new ArrayList<>();
-        switch (state) {
-            case ("CURRENT"):
-                bookings.addAll(bookingRepository.findCurrentBookingByBookerId(userId, LocalDateTime.now(), pageable));
-                break;
-            case ("FUTURE"):
-                bookings.addAll(bookingRepository.findFutureBookingByBookerId(userId, LocalDateTime.now(), pageable));
-                break;
-            case ("PAST"):
-                bookings.addAll(bookingRepository.findPastBookingByBookerId(userId, LocalDateTime.now(), pageable));
-                break;
-            case ("WAITING"):
-                bookings.addAll(bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable));
-                break;
-            case ("REJECTED"):
-                bookings.addAll(bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable));
-                break;
-            default:
-                bookings.addAll(bookingRepository.findAllByBookerId(userId, pageable));
-        }
-        return bookingMapper.toBookingDtoList(bookings);
+        return cached(new SimpleKey("getBookingsByBookerId", userId, state, from, size), state,
+                now -> bookingRepository.findNextStateChangeByBookerId(userId, now),
+                now -> findBookingsByBookerId(userId, state, now, pageable));
     }
 
     /**
-     * Получение списка бронирования для всех предметов пользователя
+     * Получение списка бронирования для всех предметов пользователя с кэшированием, как у списка пользователя
      *
      * @param ownerId id пользователя
      * @param state   состояние бронирования
@@ -72,44 +82,70 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getBookingsByOwnerId(long ownerId, String state, int from, int size) {
         validator.validateAndReturnUserByUserId(ownerId);
-        List<Booking> bookings = new ArrayList<>();
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "end"));
-        switch (state) {
-            case ("CURRENT"):
-                bookings.addAll(bookingRepository.findCurrentBookingByItemOwnerId(ownerId, LocalDateTime.now(), pageable));
-                break;
-            case ("FUTURE"):
-                bookings.addAll(bookingRepository.findFutureBookingByItemOwnerId(ownerId, LocalDateTime.now(), pageable));
-                break;
-            case ("PAST"):
-                bookings.addAll(bookingRepository.findPastBookingByItemOwnerId(ownerId, LocalDateTime.now(), pageable));
-                break;
-            case ("WAITING"):
-                bookings.addAll(bookingRepository.findBookingByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageable));
-                break;
-            case ("REJECTED"):
-                bookings.addAll(bookingRepository.findBookingByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageable));
-                break;
-            default:
-                bookings.addAll(bookingRepository.findAllByItemOwnerId(ownerId, pageable));
-        }
-        return bookingMapper.toBookingDtoList(bookings);
+        return cached(new SimpleKey("getBookingsByOwnerId", ownerId, state, from, size), state,
+                now -> bookingRepository.findNextStateChangeByItemOwnerId(ownerId, now),
+                now -> findBookingsByOwnerId(ownerId, state, now, pageable));
     }
 
     /**
-     * Добавление нового бронирования
+     * Получение страницы бронирований пользователя после курсора.
+     * Выборка идет по ключу (start, id) без OFFSET, поэтому стоимость любой страницы одинакова.
+     * Страница кэшируется, как список бронирований пользователя
+     *
+     * @param userId id пользователя
+     * @param state  состояние бронирования
+     * @param cursor курсор последнего полученного бронирования, пустой для первой страницы
+     * @param size   количество элементов на странице
+     */
+    @Override
+    public List<BookingDto> getBookingsByBookerIdAfterCursor(long userId, String state, String cursor, int size) {
+        validator.validateAndReturnUserByUserId(userId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        return cached(new SimpleKey("getBookingsByBookerIdAfterCursor", userId, state, cursor, size), state,
+                now -> bookingRepository.findNextStateChangeByBookerId(userId, now),
+                now -> findBookingsByBookerIdAfterCursor(userId, state, now, after, pageable));
+    }
+
+    /**
+     * Получение страницы бронирований для всех предметов пользователя после курсора
+     * с кэшированием, как у списка пользователя
+     *
+     * @param ownerId id пользователя
+     * @param state   состояние бронирования
+     * @param cursor  курсор последнего полученного бронирования, пустой для первой страницы
+     * @param size    количество элементов на странице
+     */
+    @Override
+    public List<BookingDto> getBookingsByOwnerIdAfterCursor(long ownerId, String state, String cursor, int size) {
+        validator.validateAndReturnUserByUserId(ownerId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        return cached(new SimpleKey("getBookingsByOwnerIdAfterCursor", ownerId, state, cursor, size), state,
+                now -> bookingRepository.findNextStateChangeByItemOwnerId(ownerId, now),
+                now -> findBookingsByOwnerIdAfterCursor(ownerId, state, now, after, pageable));
+    }
+
+    /**
+     * Добавление нового бронирования. Период проверяется на пересечение с другими бронированиями
+     * под блокировкой предмета, после коммита бронирование попадает в календарь занятости предмета
      *
      * @param userId     id пользователя
      * @param bookingDto dto бронирования
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = "bookings", allEntries = true)
     public BookingDto addBooking(long userId, BookingDtoOnlyId bookingDto) {
         User user = validator.validateAndReturnUserByUserId(userId);
         Item item = validator.validateAndReturnItemByItemId(bookingDto.getItemId());
         validator.validateForAddBooking(user, item);
-        Booking booking = bookingMapper.newBooking(bookingDto, user, item, BookingStatus.WAITING);
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        validator.validateBookingPeriod(item, bookingDto.getStart(), bookingDto.getEnd());
+        Booking booking = bookingRepository.save(bookingMapper.newBooking(bookingDto, user, item,
+                BookingStatus.WAITING));
+        availabilityIndex.update(booking);
+        return bookingMapper.toBookingDto(booking);
     }
 
     /**
@@ -133,10 +169,206 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = "bookings", allEntries = true)
     public BookingDto updateStatusBooking(long userId, long bookingId, Boolean approved) {
         User owner = validator.validateAndReturnUserByUserId(userId);
         Booking booking = validator.validateForUpdateBooking(owner, bookingId);
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        availabilityIndex.update(savedBooking);
+        return bookingMapper.toBookingDto(savedBooking);
+    }
+
+    /**
+     * Подтверждение или отклонение списка бронирований владельцем. Бронирования с вещами и владельцами
+     * читаются и проверяются одним запросом, изменения статусов отправляются при коммите
+     * пакетными update (hibernate.jdbc.batch_size). Ошибка в любом бронировании отклоняет весь список
+     *
+     * @param userId     id владельца
+     * @param bookingIds id бронирований, повторы игнорируются
+     * @param approved   подтверждение бронирований
+     * @return бронирования по возрастанию id
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = "bookings", allEntries = true)
+    public List<BookingDto> updateStatusBookings(long userId, Collection<Long> bookingIds, Boolean approved) {
+        User owner = validator.validateAndReturnUserByUserId(userId);
+        List<Booking> bookings = new ArrayList<>(validator.validateForUpdateBookings(owner,
+                new LinkedHashSet<>(bookingIds)));
+        bookings.sort(Comparator.comparingLong(Booking::getId));
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        bookings.forEach(booking -> booking.setStatus(status));
+        bookingRepository.saveAll(bookings);
+        bookings.forEach(availabilityIndex::update);
+        return bookingMapper.toBookingDtoList(bookings);
+    }
+
+    /**
+     * Выгрузка всех бронирований пользователя по убыванию начала.
+     * Бронирования читаются курсором в транзакции только для чтения: в Postgres fetch size работает
+     * только при выключенном autocommit
+     *
+     * @param userId   id пользователя
+     * @param consumer получатель бронирований
+     */
+    @Override
+    public void exportBookingsByBookerId(long userId, Consumer<BookingDto> consumer) {
+        validator.validateAndReturnUserByUserId(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByBookerId(userId)) {
+            export(bookings, consumer);
+        }
+    }
+
+    /**
+     * Выгрузка всех бронирований вещей владельца по убыванию начала
+     *
+     * @param userId   id владельца
+     * @param consumer получатель бронирований
+     */
+    @Override
+    public void exportBookingsByOwnerId(long userId, Consumer<BookingDto> consumer) {
+        validator.validateAndReturnUserByUserId(userId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(userId)) {
+            export(bookings, consumer);
+        }
+    }
+
+    /**
+     * Контекст персистентности очищается после каждой порции курсора, поэтому в памяти остается
+     * не больше EXPORT_FETCH_SIZE бронирований независимо от объема истории
+     */
+    private void export(Stream<Booking> bookings, Consumer<BookingDto> consumer) {
+        Iterator<Booking> iterator = bookings.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            consumer.accept(bookingMapper.toBookingDto(iterator.next()));
+            if (++count % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+        log.info("exported {} bookings", count);
+    }
+
+    /**
+     * Список бронирований из кэша bookings на время запроса RequestClock.now().
+     * Запись кэша верна с момента загрузки до ближайшего начала или окончания бронирований пользователя:
+     * в этом интервале ни одно бронирование не переходит между CURRENT, PAST и FUTURE. Списки остальных
+     * состояний от времени не зависят и хранятся до сброса кэша
+     *
+     * @param key        ключ списка в кэше
+     * @param state      состояние бронирования
+     * @param nextChange ближайшее к времени начало или окончание бронирований пользователя
+     * @param loader     выборка бронирований на время
+     */
+    private List<BookingDto> cached(Object key, String state, Function<LocalDateTime, LocalDateTime> nextChange,
+                                    Function<LocalDateTime, List<Booking>> loader) {
+        LocalDateTime now = requestClock.now();
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(BOOKINGS_CACHE));
+        CachedBookings cachedBookings = cache.get(key, CachedBookings.class);
+        if (cachedBookings != null && cachedBookings.isValidAt(now)) {
+            return cachedBookings.getBookings();
+        }
+        LocalDateTime validUntil = TIME_STATES.contains(state) ? nextChange.apply(now) : null;
+        List<BookingDto> bookings = bookingMapper.toBookingDtoList(loader.apply(now));
+        cache.put(key, new CachedBookings(now, validUntil, bookings));
+        return bookings;
+    }
+
+    private List<Booking> findBookingsByBookerId(long userId, String state, LocalDateTime now, Pageable pageable) {
+        switch (state) {
+            case ("CURRENT"):
+                return bookingRepository.findCurrentBookingByBookerId(userId, now, pageable);
+            case ("FUTURE"):
+                return bookingRepository.findFutureBookingByBookerId(userId, now, pageable);
+            case ("PAST"):
+                return bookingRepository.findPastBookingByBookerId(userId, now, pageable);
+            case ("WAITING"):
+                return bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
+            case ("REJECTED"):
+                return bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
+            default:
+                return bookingRepository.findAllByBookerId(userId, pageable);
+        }
+    }
+
+    private List<Booking> findBookingsByOwnerId(long ownerId, String state, LocalDateTime now, Pageable pageable) {
+        switch (state) {
+            case ("CURRENT"):
+                return bookingRepository.findCurrentBookingByItemOwnerId(ownerId, now, pageable);
+            case ("FUTURE"):
+                return bookingRepository.findFutureBookingByItemOwnerId(ownerId, now, pageable);
+            case ("PAST"):
+                return bookingRepository.findPastBookingByItemOwnerId(ownerId, now, pageable);
+            case ("WAITING"):
+                return bookingRepository.findBookingByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageable);
+            case ("REJECTED"):
+                return bookingRepository.findBookingByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageable);
+            default:
+                return bookingRepository.findAllByItemOwnerId(ownerId, pageable);
+        }
+    }
+
+    private List<Booking> findBookingsByBookerIdAfterCursor(long userId, String state, LocalDateTime now,
+                                                            BookingCursor after, Pageable pageable) {
+        switch (state) {
+            case ("CURRENT"):
+                return bookingRepository.findCurrentBookingByBookerIdAfterCursor(userId, now,
+                        after.getStart(), after.getId(), pageable);
+            case ("FUTURE"):
+                return bookingRepository.findFutureBookingByBookerIdAfterCursor(userId, now,
+                        after.getStart(), after.getId(), pageable);
+            case ("PAST"):
+                return bookingRepository.findPastBookingByBookerIdAfterCursor(userId, now,
+                        after.getStart(), after.getId(), pageable);
+            case ("WAITING"):
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, BookingStatus.WAITING,
+                        after.getStart(), after.getId(), pageable);
+            case ("REJECTED"):
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED,
+                        after.getStart(), after.getId(), pageable);
+            default:
+                return bookingRepository.findAllByBookerIdAfterCursor(userId,
+                        after.getStart(), after.getId(), pageable);
+        }
+    }
+
+    private List<Booking> findBookingsByOwnerIdAfterCursor(long ownerId, String state, LocalDateTime now,
+                                                           BookingCursor after, Pageable pageable) {
+        switch (state) {
+            case ("CURRENT"):
+                return bookingRepository.findCurrentBookingByItemOwnerIdAfterCursor(ownerId,
+                        now, after.getStart(), after.getId(), pageable);
+            case ("FUTURE"):
+                return bookingRepository.findFutureBookingByItemOwnerIdAfterCursor(ownerId,
+                        now, after.getStart(), after.getId(), pageable);
+            case ("PAST"):
+                return bookingRepository.findPastBookingByItemOwnerIdAfterCursor(ownerId,
+                        now, after.getStart(), after.getId(), pageable);
+            case ("WAITING"):
+                return bookingRepository.findBookingByOwnerIdAndStatusAfterCursor(ownerId,
+                        BookingStatus.WAITING, after.getStart(), after.getId(), pageable);
+            case ("REJECTED"):
+                return bookingRepository.findBookingByOwnerIdAndStatusAfterCursor(ownerId,
+                        BookingStatus.REJECTED, after.getStart(), after.getId(), pageable);
+            default:
+                return bookingRepository.findAllByItemOwnerIdAfterCursor(ownerId,
+                        after.getStart(), after.getId(), pageable);
+        }
+    }
+
+    /**
+     * Список бронирований в кэше bookings и интервал времени [loadedAt, validUntil), в котором он верен.
+     * validUntil null, если список от времени не зависит
+     */
+    @Value
+    private static class CachedBookings {
+        LocalDateTime loadedAt;
+        LocalDateTime validUntil;
+        List<BookingDto> bookings;
+
+        boolean isValidAt(LocalDateTime now) {
+            return !now.isBefore(loadedAt) && (validUntil == null || now.isBefore(validUntil));
+        }
     }
-}
\ No newline at end of file
+}
@@ -29,10 +29,10 @@ public class Comment {
     @Column(name = "comment_id")
     private long id;
     @JoinColumn(name = "item_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Item item;
     @JoinColumn(name = "author_user_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User author;
     @Column(name = "text")
     private String text;
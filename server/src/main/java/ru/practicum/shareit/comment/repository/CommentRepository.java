@@ -1,9 +1,12 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -14,5 +17,34 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      * @param itemId id предмета
      */
     @Query("select c from Comment c where c.item.id = ?1")
+    @EntityGraph(attributePaths = "author")
     List<Comment> getAllByItemId(long itemId);
+
+    /**
+     * Получение отзывов предмета сразу в виде dto, имя автора берется соединением с users в том же запросе
+     *
+     * @param itemId id предмета
+     */
+    @Query("select new ru.practicum.shareit.comment.dto.CommentDto(c.id, c.text, c.author.name, c.created) " +
+            "from Comment c where c.item.id = ?1 order by c.id")
+    List<CommentDto> findCommentDtosByItemId(long itemId);
+
+    /**
+     * Получение списка отзывов для нескольких предметов одним запросом
+     *
+     * @param itemIds id предметов
+     */
+    @Query("select c from Comment c where c.item.id in ?1")
+    @EntityGraph(attributePaths = "author")
+    List<Comment> getAllByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Сводка отзывов предмета: количество, наибольший id и сумма версий авторов.
+     * Меняется при добавлении отзыва и изменении имени автора, используется в ETag предмета
+     *
+     * @param itemId id предмета
+     */
+    @Query("select concat(count(c), '-', coalesce(max(c.id), 0), '-', coalesce(sum(a.version), 0)) " +
+            "from Comment c join c.author a where c.item.id = ?1")
+    String findVersionTagByItemId(long itemId);
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package ru.practicum.shareit.comment.service;
 
 import ru.practicum.shareit.comment.dto.CommentDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CommentService {
     /**
@@ -10,6 +12,16 @@ public interface CommentService {
      */
     List<CommentDto> getCommentsByItemId(long itemId);
 
+    /**
+     * Получение отзывов для списка предметов, сгруппированных по id предмета
+     */
+    Map<Long, List<CommentDto>> getCommentsByItemIds(Collection<Long> itemIds);
+
+    /**
+     * Сводка версий отзывов предмета для ETag
+     */
+    String getCommentsVersionTag(long itemId);
+
     /**
      * Добавление комментария к предмету
      */
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,11 +13,15 @@ import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.ValidatorServer;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Transactional(readOnly = true)
 public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
@@ -30,7 +35,29 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public List<CommentDto> getCommentsByItemId(long itemId) {
-        return commentMapper.toCommentDtoList(commentRepository.getAllByItemId(itemId));
+        return commentRepository.findCommentDtosByItemId(itemId);
+    }
+
+    /**
+     * Сводка версий отзывов предмета для ETag: меняется при добавлении отзыва и изменении имени автора
+     *
+     * @param itemId id предмета
+     */
+    @Override
+    public String getCommentsVersionTag(long itemId) {
+        return commentRepository.findVersionTagByItemId(itemId);
+    }
+
+    /**
+     * Получение отзывов для списка предметов, сгруппированных по id предмета
+     *
+     * @param itemIds id предметов
+     */
+    @Override
+    public Map<Long, List<CommentDto>> getCommentsByItemIds(Collection<Long> itemIds) {
+        return commentRepository.getAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
     }
 
     /**
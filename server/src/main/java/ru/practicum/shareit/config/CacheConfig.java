@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Включение кэширования. Кэши и их ограничения задаются в application.properties
+ * (spring.cache.cache-names, spring.cache.caffeine.spec), метрики попаданий и промахов
+ * публикуются actuator в /actuator/metrics/cache.gets.
+ * Кэширующий перехватчик стоит снаружи транзакционного, поэтому @CacheEvict срабатывает
+ * после коммита и параллельный запрос не вернет в кэш старое состояние.
+ * Записи кэша bookings списков бронирований дополнительно хранят интервал времени, в котором они верны
+ * (см. BookingServiceImpl).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Источник текущего времени сервера. В тестах подменяется Clock.fixed через @Primary
+ */
+@Configuration
+public class ClockConfig {
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
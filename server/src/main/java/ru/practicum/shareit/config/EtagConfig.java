@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ETag для ответов на GET-запросы предметов, пользователей и запросов вещей.
+ * Gateway кэширует эти ответы и перепроверяет их запросом с If-None-Match,
+ * при совпадении ETag сервер отвечает 304 без тела.
+ * Ответы по id получают ETag из версий сущностей в контроллере до сборки dto, фильтр его не пересчитывает.
+ * Остальным ответам, например поиску, ETag вычисляется фильтром по телу ответа.
+ * Фильтр собирает тело ответа в памяти, поэтому применяется только к GET-запросам: ответы изменяющих
+ * запросов, например потоковый импорт предметов, отправляются клиенту без буферизации.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new GetEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+        return registration;
+    }
+
+    static class GetEtagHeaderFilter extends ShallowEtagHeaderFilter {
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !HttpMethod.GET.matches(request.getMethod());
+        }
+    }
+}
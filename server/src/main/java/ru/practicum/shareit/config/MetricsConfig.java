@@ -0,0 +1,74 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.SqlStatementMetrics;
+import ru.practicum.shareit.metrics.SqlStatementMetricsFilter;
+
+import java.util.Set;
+
+/**
+ * Метрики сервера, публикуются actuator в /actuator/prometheus.
+ * Методы сервисов с @Timed замеряются таймером shareit.service с гистограммой для перцентилей
+ * и тегами class, method, exception и state: состояние бронирований для методов списков бронирований,
+ * для остальных методов none.
+ * Количество SQL-запросов на HTTP-запрос считается StatementInspector Hibernate. Если inspector уже задан
+ * свойством hibernate.session_factory.statement_inspector, например в тестах, подсчет не подключается.
+ */
+@Configuration
+public class MetricsConfig {
+    private static final String STATE = "state";
+    private static final Set<String> STATES = Set.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, MetricsConfig::serviceTags);
+    }
+
+    @Bean
+    public SqlStatementMetrics sqlStatementMetrics() {
+        return new SqlStatementMetrics();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementMetrics sqlStatementMetrics) {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMetrics);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(
+            SqlStatementMetrics sqlStatementMetrics, MeterRegistry registry) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(sqlStatementMetrics, registry));
+    }
+
+    private static Iterable<Tag> serviceTags(ProceedingJoinPoint joinPoint) {
+        return Tags.of(
+                "class", joinPoint.getStaticPart().getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getStaticPart().getSignature().getName(),
+                STATE, state(joinPoint));
+    }
+
+    /**
+     * Состояние бронирований из аргумента state метода. Неизвестные значения сводятся к OTHER,
+     * чтобы произвольный параметр запроса не создавал новые временные ряды
+     */
+    private static String state(ProceedingJoinPoint joinPoint) {
+        String[] names = ((CodeSignature) joinPoint.getSignature()).getParameterNames();
+        for (int i = 0; i < names.length; i++) {
+            if (STATE.equals(names[i])) {
+                Object state = joinPoint.getArgs()[i];
+                return state != null && STATES.contains(state.toString()) ? state.toString() : "OTHER";
+            }
+        }
+        return "none";
+    }
+}
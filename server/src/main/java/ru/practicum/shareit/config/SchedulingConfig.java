@@ -0,0 +1,12 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Выполнение задач по расписанию, например очистки календаря занятости от закончившихся бронирований
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
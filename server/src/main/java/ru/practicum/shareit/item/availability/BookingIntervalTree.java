@@ -0,0 +1,226 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Дерево интервалов бронирований одного предмета: AVL-дерево по (start, id бронирования),
+ * в каждом узле хранится наибольший end поддерева. Интервалы полуоткрытые [start, end).
+ * Добавление и удаление — O(log n), проверка занятости периода — O(log n),
+ * получение k бронирований, пересекающих период, — O(log n + k).
+ * Класс не потокобезопасен, доступ синхронизирует ItemAvailabilityIndex.
+ */
+public class BookingIntervalTree {
+    private final Map<Long, Interval> intervals = new HashMap<>();
+    private Node root;
+
+    /**
+     * Добавление или замена периода бронирования
+     */
+    public void put(long bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        Interval interval = new Interval(bookingId, start, end);
+        intervals.put(bookingId, interval);
+        root = insert(root, interval);
+    }
+
+    public void remove(long bookingId) {
+        Interval interval = intervals.remove(bookingId);
+        if (interval != null) {
+            root = delete(root, interval);
+        }
+    }
+
+    /**
+     * Удаление бронирований, закончившихся не позже time, O(n + k log n)
+     *
+     * @return количество удаленных бронирований
+     */
+    public int removeEndedBy(LocalDateTime time) {
+        List<Long> ended = new ArrayList<>();
+        intervals.values().forEach(interval -> {
+            if (!interval.end.isAfter(time)) {
+                ended.add(interval.bookingId);
+            }
+        });
+        ended.forEach(this::remove);
+        return ended.size();
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    /**
+     * Пересекает ли период [from, to) хотя бы одно бронирование. Спуск идет в левое поддерево,
+     * только если там есть интервал, заканчивающийся после from, иначе пересечение возможно только справа
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(from, to)) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd.isAfter(from) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Бронирования, пересекающие период [from, to), по возрастанию начала
+     */
+    public List<Interval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Interval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.interval.start.isBefore(to)) {
+            return;
+        }
+        if (node.interval.end.isAfter(from)) {
+            result.add(node.interval);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = delete(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, interval);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = delete(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(Interval first, Interval second) {
+        int cmp = first.start.compareTo(second.start);
+        return cmp != 0 ? cmp : Long.compare(first.bookingId, second.bookingId);
+    }
+
+    /**
+     * bookingId — id бронирования;
+     * start — начало периода бронирования;
+     * end — конец периода бронирования, не входит в период.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Interval {
+        private final long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return start.isBefore(to) && end.isAfter(from);
+        }
+    }
+
+    private static class Node {
+        private Interval interval;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end;
+        }
+    }
+}
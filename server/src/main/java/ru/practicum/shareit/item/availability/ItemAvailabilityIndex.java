@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.util.RequestClock;
+import ru.practicum.shareit.util.TransactionCallbacks;
+import ru.practicum.shareit.util.ValidatorServer;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Календарь занятости предметов в памяти приложения: для каждого предмета дерево интервалов
+ * его ожидающих и подтвержденных бронирований, которые еще не закончились.
+ * Индекс строится при старте приложения и обновляется после коммита транзакций добавления
+ * бронирования и изменения его статуса, отклоненные и отмененные бронирования удаляются из дерева.
+ * Закончившиеся бронирования удаляются по расписанию раз в shareit.availability.prune-interval,
+ * поэтому занятость прошедших периодов календарь не показывает.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityIndex {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final BookingRepository bookingRepository;
+    private final RequestClock requestClock;
+    private final Map<Long, BookingIntervalTree> trees = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Построение индекса по незакончившимся ожидающим и подтвержденным бронированиям
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        LocalDateTime now = requestClock.now();
+        lock.writeLock().lock();
+        try {
+            trees.clear();
+            Pageable batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+            List<BookingDtoOnlyId> bookings = bookingRepository.findByStatusInAndEndAfterAfterId(
+                    ValidatorServer.OCCUPYING_STATUSES, now, 0, batch);
+            int count = 0;
+            while (!bookings.isEmpty()) {
+                bookings.forEach(booking -> trees.computeIfAbsent(booking.getItemId(), id -> new BookingIntervalTree())
+                        .put(booking.getId(), booking.getStart(), booking.getEnd()));
+                count += bookings.size();
+                bookings = bookingRepository.findByStatusInAndEndAfterAfterId(ValidatorServer.OCCUPYING_STATUSES,
+                        now, bookings.get(bookings.size() - 1).getId(), batch);
+            }
+            log.info("availability index built for {} bookings of {} items", count, trees.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Учет нового бронирования или изменения его статуса после коммита текущей транзакции
+     */
+    public void update(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        boolean occupying = ValidatorServer.OCCUPYING_STATUSES.contains(booking.getStatus());
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (occupying) {
+                    trees.computeIfAbsent(itemId, id -> new BookingIntervalTree()).put(bookingId, start, end);
+                    return;
+                }
+                BookingIntervalTree tree = trees.get(itemId);
+                if (tree != null) {
+                    tree.remove(bookingId);
+                    if (tree.isEmpty()) {
+                        trees.remove(itemId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаление закончившихся бронирований по расписанию
+     */
+    @Scheduled(initialDelayString = "${shareit.availability.prune-interval}",
+            fixedDelayString = "${shareit.availability.prune-interval}")
+    public void removeEnded() {
+        removeEndedBy(requestClock.now());
+    }
+
+    /**
+     * Удаление бронирований, закончившихся не позже time, и деревьев предметов, оставшихся пустыми
+     */
+    public void removeEndedBy(LocalDateTime time) {
+        lock.writeLock().lock();
+        try {
+            int count = 0;
+            Iterator<BookingIntervalTree> iterator = trees.values().iterator();
+            while (iterator.hasNext()) {
+                BookingIntervalTree tree = iterator.next();
+                count += tree.removeEndedBy(time);
+                if (tree.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            log.info("availability index: removed {} bookings ended by {}", count, time);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Свободен ли предмет на весь период [from, to), O(log n) от числа бронирований предмета
+     */
+    public boolean isFree(long itemId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            BookingIntervalTree tree = trees.get(itemId);
+            return tree == null || !tree.overlaps(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Бронирования предмета, пересекающие период [from, to), по возрастанию начала
+     */
+    public List<BookingIntervalTree.Interval> getBusyPeriods(long itemId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            BookingIntervalTree tree = trees.get(itemId);
+            return tree == null ? List.of() : tree.overlapping(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.comment.service.CommentService;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemImportReader;
+import ru.practicum.shareit.item.imports.ItemImportResultWriter;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -20,11 +36,16 @@ public class ItemController {
     private static final String HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
     private final CommentService commentService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ItemController(ItemService itemService, CommentService commentService) {
+    public ItemController(ItemService itemService, CommentService commentService,
+                          ItemImportService itemImportService, ObjectMapper objectMapper) {
         this.itemService = itemService;
         this.commentService = commentService;
+        this.itemImportService = itemImportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -54,6 +75,24 @@ public class ItemController {
         return itemService.addItem(userId, itemDto);
     }
 
+    /**
+     * Импорт предметов из NDJSON или CSV. Тело запроса читается потоком, результаты по каждой записи
+     * возвращаются в NDJSON по мере сохранения пакетов. Буферизация ответа фильтром ETag отключается,
+     * иначе результаты копились бы в памяти до конца импорта
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportFormat.CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader(HEADER) long userId,
+                            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("User {} imports items from {}", userId, contentType);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        ItemImportReader reader = new ItemImportReader(request.getInputStream(),
+                contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8,
+                ItemImportFormat.from(contentType), objectMapper);
+        itemImportService.importItems(userId, reader, new ItemImportResultWriter(response, objectMapper));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(HEADER) long userId, @RequestBody ItemDto itemDto,
                               @PathVariable long itemId) {
@@ -62,11 +101,24 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemOwnerDto findItemById(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
+    public ItemOwnerDto findItemById(@RequestHeader(HEADER) long userId, @PathVariable long itemId,
+                                     WebRequest request) {
         log.info("Get itemId = {}, with userId = {}", itemId, userId);
+        if (request.checkNotModified(itemService.getItemEtag(userId, itemId))) {
+            return null;
+        }
         return itemService.findItemOwnerDtoById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto findItemAvailability(
+            @RequestHeader(HEADER) long userId, @PathVariable long itemId,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Get availability of itemId = {} from {} to {}, with userId = {}", itemId, start, end, userId);
+        return itemService.getItemAvailability(userId, itemId, start, end);
+    }
+
     @DeleteMapping("/{itemId}")
     public void deleteItem(@RequestHeader(HEADER) long userId, @PathVariable long itemId) {
         log.info("Delete item id = {}", itemId);
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * itemId — id вещи;
+ * start — начало запрошенного периода;
+ * end — конец запрошенного периода;
+ * available — свободна ли вещь на весь период;
+ * busy — ожидающие и подтвержденные бронирования, пересекающие период, по возрастанию начала;
+ * free — свободные промежутки внутри периода, для недоступной для аренды вещи пустой список.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemAvailabilityDto {
+    private long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private boolean available;
+    private List<PeriodDto> busy;
+    private List<PeriodDto> free;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * line — номер строки загруженного файла;
+ * id — id созданной вещи, если запись импортирована;
+ * error — причина, по которой запись пропущена.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResultDto {
+    private long line;
+    private Long id;
+    private String error;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dto;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.availability.BookingIntervalTree;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -42,4 +43,10 @@ public class ItemMapper {
     public List<ItemDto> toItemDtoList(Collection<Item> items) {
         return items.stream().map(this::toItemDto).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    public List<PeriodDto> toPeriodDtoList(Collection<BookingIntervalTree.Interval> intervals) {
+        return intervals.stream()
+                .map(interval -> new PeriodDto(interval.getStart(), interval.getEnd()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * start — начало периода;
+ * end — конец периода, не входит в период.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
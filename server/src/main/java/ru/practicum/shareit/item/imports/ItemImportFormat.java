@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.imports;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Формат загрузки предметов: NDJSON — по одному ItemDto в строке,
+ * CSV — строка заголовка с колонками name, description, available, requestId и по предмету в строке.
+ */
+public enum ItemImportFormat {
+    NDJSON,
+    CSV;
+
+    public static final String CSV_VALUE = "text/csv";
+
+    public static ItemImportFormat from(MediaType contentType) {
+        return MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? NDJSON : CSV;
+    }
+}
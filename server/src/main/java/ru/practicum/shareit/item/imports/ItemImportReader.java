@@ -0,0 +1,165 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Потоковое чтение загружаемых предметов: файл читается построчно, в памяти только текущая строка.
+ * Пустые строки пропускаются, ошибка разбора строки возвращается в ItemImportRecord и не прерывает чтение.
+ * В CSV первая непустая строка — заголовок, значения в кавычках не могут содержать перевод строки.
+ */
+@Slf4j
+public class ItemImportReader {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+    private final BufferedReader reader;
+    private final ItemImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long line;
+
+    public ItemImportReader(InputStream in, Charset charset, ItemImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Следующая запись файла
+     *
+     * @return запись или null, если файл прочитан
+     */
+    public ItemImportRecord next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == ItemImportFormat.NDJSON) {
+                return parseJson(text);
+            }
+            if (columns == null) {
+                columns = parseHeader(text);
+                continue;
+            }
+            return parseCsv(text);
+        }
+        return null;
+    }
+
+    private ItemImportRecord parseJson(String text) {
+        try {
+            return ItemImportRecord.of(line, objectMapper.readValue(text, ItemDto.class));
+        } catch (JsonProcessingException e) {
+            return ItemImportRecord.failed(line, String.format("некорректный JSON: %s", e.getOriginalMessage()));
+        }
+    }
+
+    private Map<String, Integer> parseHeader(String text) {
+        List<String> names = splitCsv(text);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(NAME, DESCRIPTION, AVAILABLE)) {
+            if (!header.containsKey(required)) {
+                log.warn("в заголовке CSV нет колонки {}", required);
+                throw new ValidationException(String.format("в заголовке CSV нет колонки '%s'", required));
+            }
+        }
+        return header;
+    }
+
+    private ItemImportRecord parseCsv(String text) {
+        List<String> values;
+        try {
+            values = splitCsv(text);
+        } catch (ValidationException e) {
+            return ItemImportRecord.failed(line, e.getMessage());
+        }
+        ItemDto item = new ItemDto();
+        item.setName(value(values, NAME));
+        item.setDescription(value(values, DESCRIPTION));
+        String available = value(values, AVAILABLE);
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                return ItemImportRecord.failed(line, String.format("некорректное значение available '%s'",
+                        available));
+            }
+            item.setAvailable(Boolean.parseBoolean(available));
+        }
+        String requestId = value(values, REQUEST_ID);
+        if (requestId != null) {
+            try {
+                item.setRequestId(Long.parseLong(requestId.trim()));
+            } catch (NumberFormatException e) {
+                return ItemImportRecord.failed(line, String.format("некорректное значение requestId '%s'",
+                        requestId));
+            }
+        }
+        return ItemImportRecord.of(line, item);
+    }
+
+    /**
+     * Значение колонки строки, пустое значение и отсутствующая колонка — null
+     */
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    /**
+     * Разбор строки CSV по RFC 4180: значения через запятую, значение в кавычках может содержать запятые,
+     * кавычка внутри него удваивается
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("незакрытая кавычка в строке CSV");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * line — номер строки загруженного файла;
+ * item — предмет из строки, null, если строку не удалось разобрать;
+ * error — ошибка разбора строки.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemImportRecord {
+    private final long line;
+    private final ItemDto item;
+    private final String error;
+
+    public static ItemImportRecord of(long line, ItemDto item) {
+        return new ItemImportRecord(line, item, null);
+    }
+
+    public static ItemImportRecord failed(long line, String error) {
+        return new ItemImportRecord(line, null, error);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Запись результатов импорта в ответ в формате NDJSON, по строке на запись файла.
+ * Результаты пакета отправляются клиенту сразу после его коммита. Тип ответа устанавливается при первой записи,
+ * поэтому ошибка до первого пакета, например неизвестный пользователь, возвращается обычным ответом ErrorHandler.
+ */
+public class ItemImportResultWriter implements Consumer<List<ItemImportResultDto>> {
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private ServletOutputStream out;
+
+    public ItemImportResultWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+        this.response = response;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void accept(List<ItemImportResultDto> results) {
+        try {
+            if (out == null) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                out = response.getOutputStream();
+            }
+            for (ItemImportResultDto result : results) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
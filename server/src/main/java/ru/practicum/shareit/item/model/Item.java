@@ -12,7 +12,10 @@ import javax.persistence.*;
  * available — статус о том, доступна или нет вещь для аренды;
  * owner — владелец вещи;
  * requestId — если вещь была создана по запросу другого пользователя, то в этом
- * поле будет храниться идентификатор соответствующий запрос.
+ * поле будет храниться идентификатор соответствующий запрос;
+ * version — версия для оптимистической блокировки и ETag ответа.
+ * id выдаются последовательностью items_seq блоками по 50 значений (pooled-оптимизатор Hibernate),
+ * поэтому вставки предметов объединяются в пакеты JDBC.
  */
 @Getter
 @Setter
@@ -23,7 +26,8 @@ import javax.persistence.*;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private long id;
     @Column(name = "name")
@@ -33,8 +37,11 @@ public class Item {
     @Column(name = "available")
     private Boolean available;
     @JoinColumn(name = "owner_user_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User owner;
     @Column(name = "request_id")
     private Long requestId;
+    @Version
+    @Column(name = "version")
+    private long version;
 }
\ No newline at end of file
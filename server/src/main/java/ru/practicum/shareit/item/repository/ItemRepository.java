@@ -1,14 +1,37 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    /**
+     * Получение предмета по id вместе с владельцем, чтобы закэшированный предмет не содержал
+     * неинициализированный прокси владельца
+     */
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long itemId);
+
+    /**
+     * Получение предмета с блокировкой строки до конца транзакции (select ... for update).
+     * Параллельные транзакции, блокирующие тот же предмет, ждут завершения текущей
+     *
+     * @param itemId id предмета
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(long itemId);
+
     /**
      * Получение списка предметов пользователя
      *
@@ -19,17 +42,28 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerIdOrderById(long userId, Pageable pageable);
 
     /**
-     * Поиск предметов по тексту в названии и описании.
+     * Поиск доступных предметов по тексту в названии и описании.
+     * В Postgres условия покрываются триграммными GIN-индексами по upper(name) и upper(description).
      *
      * @param text     текст для поиска
      * @param pageable сортировка по количеству страниц и количеству выборки на странице
      */
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "and i.available = true")
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by i.id")
     List<Item> searchItemByNameAndDesc(String text, Pageable pageable);
 
+    /**
+     * Постраничное получение доступных предметов по возрастанию id, начиная после переданного id
+     *
+     * @param id       id последнего полученного предмета
+     * @param pageable количество предметов в выборке
+     */
+    @Query("select i from Item i where i.available = true and i.id > ?1 order by i.id")
+    List<Item> findAvailableAfterId(long id, Pageable pageable);
+
     /**
      * Получение списка предметов по идентификатору запроса предмета
      *
@@ -37,4 +71,22 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      */
     @Query("select i from Item i where i.requestId = ?1")
     List<Item> findByRequestId(Long requestId);
+
+    /**
+     * Получение списка предметов для нескольких запросов одним запросом
+     *
+     * @param requestIds id запросов предметов
+     */
+    @Query("select i from Item i where i.requestId in ?1")
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Сводка версий предметов, созданных по запросу: количество, наибольший id и сумма версий.
+     * Меняется при добавлении, изменении и удалении любого из предметов, используется в ETag запроса
+     *
+     * @param requestId id запроса предмета
+     */
+    @Query("select concat(count(i), '-', coalesce(max(i.id), 0), '-', coalesce(sum(i.version), 0)) " +
+            "from Item i where i.requestId = ?1")
+    String findVersionTagByRequestId(long requestId);
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.TransactionCallbacks;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Поиск по триграммному инвертированному индексу в памяти приложения.
+ * Для каждой триграммы названия и описания хранится упорядоченное множество id доступных предметов,
+ * кандидаты получаются пересечением множеств триграмм запроса и затем проверяются на вхождение подстроки,
+ * поэтому результат совпадает с поиском like '%text%' без учета регистра.
+ * Индекс строится при старте приложения и обновляется после коммита транзакций добавления,
+ * изменения и удаления предметов.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final ItemRepository itemRepository;
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Построение индекса по всем доступным предметам
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            Pageable batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+            List<Item> items = itemRepository.findAvailableAfterId(0, batch);
+            while (!items.isEmpty()) {
+                items.forEach(item -> put(item.getId(), new Document(item)));
+                items = itemRepository.findAvailableAfterId(items.get(items.size() - 1).getId(), batch);
+            }
+            log.info("search index built for {} items", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = normalize(text);
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = candidates(query)
+                    .filter(id -> documents.get(id).contains(query))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream().map(items::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        long itemId = item.getId();
+        Document document = Boolean.TRUE.equals(item.getAvailable()) ? new Document(item) : null;
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+                if (document != null) {
+                    put(itemId, document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(long itemId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Кандидаты по возрастанию id: пересечение множеств триграмм запроса,
+     * для запроса короче триграммы — все предметы индекса
+     */
+    private Stream<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet().stream();
+        }
+        List<NavigableSet<Long>> sets = new ArrayList<>();
+        for (String gram : grams(query)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Stream.empty();
+            }
+            sets.add(ids);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        List<NavigableSet<Long>> others = sets.subList(1, sets.size());
+        return sets.get(0).stream().filter(id -> others.stream().allMatch(ids -> ids.contains(id)));
+    }
+
+    private void put(long itemId, Document document) {
+        documents.put(itemId, document);
+        document.grams().forEach(gram -> postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(itemId));
+    }
+
+    private void delete(long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            NavigableSet<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Document {
+        private final String name;
+        private final String description;
+
+        Document(Item item) {
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+}
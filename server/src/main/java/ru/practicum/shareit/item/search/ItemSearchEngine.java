@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Движок поиска доступных предметов по тексту в названии и описании.
+ * Реализация выбирается свойством shareit.search.engine (database или memory).
+ */
+public interface ItemSearchEngine {
+    /**
+     * Поиск доступных предметов, результат упорядочен по id
+     */
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Добавление или обновление предмета в индексе
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Удаление предмета из индекса
+     */
+    default void remove(long itemId) {
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportReader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ItemImportService {
+    /**
+     * Импорт предметов владельца из загруженного файла.
+     * Результаты по каждой записи передаются в results пакетами после коммита пакета
+     */
+    void importItems(long userId, ItemImportReader reader, Consumer<List<ItemImportResultDto>> results)
+            throws IOException;
+}
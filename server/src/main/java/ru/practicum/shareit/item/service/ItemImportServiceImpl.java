@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.imports.ItemImportReader;
+import ru.practicum.shareit.item.imports.ItemImportRecord;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.ValidatorServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт предметов пакетами по BATCH_SIZE записей, каждый пакет сохраняется в своей транзакции.
+ * id предметов берутся из последовательности блоками, поэтому вставки пакета уходят в базу пакетами JDBC
+ * по hibernate.jdbc.batch_size. Ошибка в записи пропускает только эту запись, уже сохраненные пакеты
+ * не откатываются.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportServiceImpl implements ItemImportService {
+    static final int BATCH_SIZE = 500;
+    private final ItemMapper itemMapper;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ValidatorServer validator;
+    private final ItemSearchEngine searchEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Импорт предметов владельца
+     *
+     * @param userId  id владельца
+     * @param reader  записи загруженного файла
+     * @param results получатель результатов, вызывается после коммита каждого пакета
+     */
+    @Override
+    public void importItems(long userId, ItemImportReader reader, Consumer<List<ItemImportResultDto>> results)
+            throws IOException {
+        User owner = validator.validateAndReturnUserByUserId(userId);
+        List<ItemImportRecord> batch = new ArrayList<>(BATCH_SIZE);
+        int total = 0;
+        int imported = 0;
+        ItemImportRecord record;
+        while ((record = reader.next()) != null) {
+            batch.add(record);
+            if (batch.size() == BATCH_SIZE) {
+                imported += importBatch(owner, batch, results);
+                total += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += importBatch(owner, batch, results);
+            total += batch.size();
+        }
+        log.info("user {} imported {} of {} items", userId, imported, total);
+    }
+
+    private int importBatch(User owner, List<ItemImportRecord> batch, Consumer<List<ItemImportResultDto>> results) {
+        Map<ItemImportRecord, String> errors = new HashMap<>();
+        for (ItemImportRecord record : batch) {
+            if (record.getError() != null) {
+                errors.put(record, record.getError());
+                continue;
+            }
+            try {
+                validator.validateItemAll(record.getItem());
+            } catch (ValidationException e) {
+                errors.put(record, e.getMessage());
+            }
+        }
+        List<ItemImportRecord> valid = batch.stream()
+                .filter(record -> !errors.containsKey(record))
+                .collect(Collectors.toList());
+        Set<Long> requestIds = valid.stream()
+                .map(record -> record.getItem().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!requestIds.isEmpty()) {
+            Set<Long> found = itemRequestRepository.findAllById(requestIds).stream()
+                    .map(ItemRequest::getId)
+                    .collect(Collectors.toSet());
+            valid.removeIf(record -> {
+                Long requestId = record.getItem().getRequestId();
+                if (requestId == null || found.contains(requestId)) {
+                    return false;
+                }
+                errors.put(record, String.format("запрос предмета с id '%d' не найден в списке запросов!", requestId));
+                return true;
+            });
+        }
+        Map<ItemImportRecord, Item> saved = new HashMap<>();
+        if (!valid.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Item> items = valid.stream()
+                        .map(record -> itemMapper.toItem(record.getItem(), owner))
+                        .collect(Collectors.toList());
+                itemRepository.saveAll(items);
+                items.forEach(searchEngine::index);
+                for (int i = 0; i < valid.size(); i++) {
+                    saved.put(valid.get(i), items.get(i));
+                }
+            });
+        }
+        results.accept(batch.stream()
+                .map(record -> saved.containsKey(record)
+                        ? new ItemImportResultDto(record.getLine(), saved.get(record).getId(), null)
+                        : new ItemImportResultDto(record.getLine(), null, errors.get(record)))
+                .collect(Collectors.toList()));
+        return saved.size();
+    }
+}
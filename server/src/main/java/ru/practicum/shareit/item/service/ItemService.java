@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -28,6 +30,16 @@ public interface ItemService {
      */
     ItemOwnerDto findItemOwnerDtoById(long userId, long itemId);
 
+    /**
+     * ETag предмета по версиям предмета, отзывов и, для владельца, бронирований
+     */
+    String getItemEtag(long userId, long itemId);
+
+    /**
+     * Календарь занятости предмета на период [start, end)
+     */
+    ItemAvailabilityDto getItemAvailability(long userId, long itemId, LocalDateTime start, LocalDateTime end);
+
     /**
      * Изменение предмета
      */
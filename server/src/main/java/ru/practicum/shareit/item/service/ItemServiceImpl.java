@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -13,20 +16,33 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.availability.BookingIntervalTree;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.ValidatorServer;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
@@ -35,6 +51,8 @@ public class ItemServiceImpl implements ItemService {
     private final BookingMapper bookingMapper;
     private final CommentService commentService;
     private final ValidatorServer validator;
+    private final ItemSearchEngine searchEngine;
+    private final ItemAvailabilityIndex availabilityIndex;
 
     /**
      * Получение предметов пользователя
@@ -48,7 +66,19 @@ public class ItemServiceImpl implements ItemService {
         validator.validateAndReturnUserByUserId(userId);
         Pageable pageable = PageRequest.of(from, size, Sort.by("id").ascending());
         List<Item> userItems = itemRepository.findByOwnerIdOrderById(userId, pageable);
-        return userItems.stream().map(item -> findItemOwnerDtoById(userId, item.getId())).collect(Collectors.toList());
+        if (userItems.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = userItems.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, BookingDtoOnlyId> lastBookings = toBookingDtoByItemId(
+                bookingRepository.findLastBookingsByItemIds(itemIds));
+        Map<Long, BookingDtoOnlyId> nextBookings = toBookingDtoByItemId(
+                bookingRepository.findNextBookingsByItemIds(itemIds));
+        Map<Long, List<CommentDto>> comments = commentService.getCommentsByItemIds(itemIds);
+        return userItems.stream().map(item -> itemMapper.toItemOwnerDto(item,
+                comments.getOrDefault(item.getId(), List.of()),
+                lastBookings.get(item.getId()),
+                nextBookings.get(item.getId()))).collect(Collectors.toList());
     }
 
     /**
@@ -64,7 +94,7 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
         Pageable pageable = PageRequest.of(from, size, Sort.by("id").ascending());
-        return itemMapper.toItemDtoList(itemRepository.searchItemByNameAndDesc(text, pageable));
+        return itemMapper.toItemDtoList(searchEngine.search(text, pageable));
     }
 
     /**
@@ -79,11 +109,13 @@ public class ItemServiceImpl implements ItemService {
 //        validator.validateItemAll(itemDto);
         User user = validator.validateAndReturnUserByUserId(userId);
         Item item = itemRepository.save(itemMapper.toItem(itemDto, user));
+        searchEngine.index(item);
         return itemMapper.toItemDto(item);
     }
 
     /**
-     * Поиск предмета по id
+     * Поиск предмета по id. Пользователь и предмет берутся из кэша, отзывы читаются одним запросом
+     * в виде dto, а бронирования владельцу — одним запросом проекции с последним и следующим бронированием
      *
      * @param itemId id предмета
      * @param userId id пользователя
@@ -92,25 +124,80 @@ public class ItemServiceImpl implements ItemService {
     public ItemOwnerDto findItemOwnerDtoById(long userId, long itemId) {
         User user = validator.validateAndReturnUserByUserId(userId);
         Item item = validator.validateAndReturnItemByItemId(itemId);
-        Booking lastBooking = bookingRepository.findFirstByItemOrderByStartAsc(item);
-        Booking nextBooking = bookingRepository.findFirstByItemOrderByEndDesc(item);
-        BookingDtoOnlyId lastBookingDto = null;
-        BookingDtoOnlyId nextBookingDto = null;
-        if (lastBooking != null) {
-            lastBookingDto = bookingMapper.toBookingDtoOnlyId(lastBooking);
+        List<CommentDto> comments = commentService.getCommentsByItemId(itemId);
+        if (user.getId() != item.getOwner().getId()) {
+            return itemMapper.toItemOwnerDto(item, comments, null, null);
         }
-        if (nextBooking != null) {
-            nextBookingDto = bookingMapper.toBookingDtoOnlyId(nextBooking);
+        List<BookingDtoOnlyId> bookings = bookingRepository.findLastAndNextBookingsByItemId(itemId);
+        BookingDtoOnlyId lastBookingDto = bookings.stream()
+                .min(Comparator.comparing(BookingDtoOnlyId::getStart)).orElse(null);
+        BookingDtoOnlyId nextBookingDto = bookings.stream()
+                .max(Comparator.comparing(BookingDtoOnlyId::getEnd)).orElse(null);
+        return itemMapper.toItemOwnerDto(item, comments, lastBookingDto, nextBookingDto);
+    }
+
+    /**
+     * ETag ответа findItemOwnerDtoById. Предмет и пользователь берутся из кэша, отзывы и бронирования
+     * сводятся агрегатными запросами, поэтому при совпадении ETag dto не собирается.
+     * Бронирования входят в ответ только владельцу, поэтому и в ETag — только для владельца
+     *
+     * @param userId id пользователя
+     * @param itemId id предмета
+     */
+    @Override
+    public String getItemEtag(long userId, long itemId) {
+        User user = validator.validateAndReturnUserByUserId(userId);
+        Item item = validator.validateAndReturnItemByItemId(itemId);
+        String etag = String.format("i%d-%d-c%s", item.getId(), item.getVersion(),
+                commentService.getCommentsVersionTag(itemId));
+        if (user.getId() != item.getOwner().getId()) {
+            return etag;
         }
-        List<CommentDto> comments = commentService.getCommentsByItemId(itemId);
-        if (user.getId() == (item.getOwner().getId())) {
-            return itemMapper.toItemOwnerDto(item, comments, lastBookingDto, nextBookingDto);
+        return etag + "-b" + bookingRepository.findVersionTagByItemId(itemId);
+    }
+
+    /**
+     * Календарь занятости предмета по индексу бронирований в памяти. Свободный период определяется
+     * за O(log n) от числа бронирований предмета, иначе собираются k пересекающих период бронирований
+     * за O(log n + k) и свободные промежутки между ними.
+     * Предмет, недоступный для аренды, свободных промежутков не имеет
+     *
+     * @param userId id пользователя
+     * @param itemId id предмета
+     * @param start  начало периода
+     * @param end    конец периода, не входит в период
+     */
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+        validator.validateAndReturnUserByUserId(userId);
+        Item item = validator.validateAndReturnItemByItemId(itemId);
+        validator.validateAvailabilityPeriod(start, end);
+        boolean rentable = Boolean.TRUE.equals(item.getAvailable());
+        if (availabilityIndex.isFree(itemId, start, end)) {
+            List<PeriodDto> free = rentable ? List.of(new PeriodDto(start, end)) : List.of();
+            return new ItemAvailabilityDto(itemId, start, end, rentable, List.of(), free);
+        }
+        List<BookingIntervalTree.Interval> busy = availabilityIndex.getBusyPeriods(itemId, start, end);
+        List<PeriodDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = start;
+        for (BookingIntervalTree.Interval interval : busy) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                free.add(new PeriodDto(freeFrom, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(freeFrom)) {
+                freeFrom = interval.getEnd();
+            }
         }
-        return itemMapper.toItemOwnerDto(item, comments, null, null);
+        if (freeFrom.isBefore(end)) {
+            free.add(new PeriodDto(freeFrom, end));
+        }
+        return new ItemAvailabilityDto(itemId, start, end, false, itemMapper.toPeriodDtoList(busy),
+                rentable ? free : List.of());
     }
 
     /**
-     * Редактирование предмета
+     * Редактирование предмета. Предмет читается из базы, а не из кэша,
+     * чтобы не изменять общий закэшированный объект
      *
      * @param userId  id пользователя
      * @param itemId  id предмета
@@ -118,10 +205,14 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "items", key = "#itemId"),
+            @CacheEvict(cacheNames = "bookings", allEntries = true)})
     public ItemDto updateItem(long userId, long itemId, ItemDto itemDto) {
-        Item item = validator.validateAndReturnItemByItemId(itemId);
+        Item item = itemRepository.findById(itemId).orElseThrow(() ->
+                new ItemNotFoundException(String.format("предмет с id '%d' не найден в списке предметов!",
+                        itemId)));
         validator.validateAndReturnUserByUserId(userId);
-        validator.validateOwnerFromItem(userId, itemId);
+        validator.validateOwnerFromItem(userId, item);
         if (itemDto.getName() != null) {
             item.setName(itemDto.getName());
         }
@@ -131,7 +222,9 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        searchEngine.index(savedItem);
+        return itemMapper.toItemDto(savedItem);
     }
 
     /**
@@ -142,10 +235,23 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "items", key = "#itemId"),
+            @CacheEvict(cacheNames = "bookings", allEntries = true)})
     public void deleteItemById(long userId, long itemId) {
         validator.validateAndReturnUserByUserId(userId);
-        validator.validateAndReturnItemByItemId(itemId);
-        validator.validateOwnerFromItem(userId, itemId);
+        Item item = validator.validateAndReturnItemByItemId(itemId);
+        validator.validateOwnerFromItem(userId, item);
         itemRepository.deleteById(itemId);
+        searchEngine.remove(itemId);
+    }
+
+    /**
+     * Группировка бронирований по id предмета, при совпадении берется первое бронирование
+     *
+     * @param bookings список бронирований
+     */
+    private Map<Long, BookingDtoOnlyId> toBookingDtoByItemId(Collection<Booking> bookings) {
+        return bookings.stream().map(bookingMapper::toBookingDtoOnlyId)
+                .collect(Collectors.toMap(BookingDtoOnlyId::getItemId, Function.identity(), (first, second) -> first));
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Счетчик SQL-запросов, которые Hibernate отправляет в базу в рамках одного HTTP-запроса.
+ * Считаются запросы потока, который начал подсчет, запросы вне подсчета не учитываются.
+ */
+public class SqlStatementMetrics implements StatementInspector {
+    private final ThreadLocal<int[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Начало подсчета запросов текущего потока
+     */
+    public void start() {
+        counter.set(new int[1]);
+    }
+
+    /**
+     * Окончание подсчета запросов текущего потока
+     *
+     * @return количество запросов с начала подсчета
+     */
+    public int stop() {
+        int[] count = counter.get();
+        counter.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Публикует количество SQL-запросов на HTTP-запрос в метрику shareit.http.sql.statements
+ * с тегами method, uri (шаблон пути обработчика) и status, как у http.server.requests.
+ * Для асинхронных ответов, например выгрузки бронирований, учитываются только запросы до начала записи ответа.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    static final String METRIC = "shareit.http.sql.statements";
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final MeterRegistry registry;
+
+    public SqlStatementMetricsFilter(SqlStatementMetrics sqlStatementMetrics, MeterRegistry registry) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        sqlStatementMetrics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = sqlStatementMetrics.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .description("SQL-запросы Hibernate на один HTTP-запрос")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .tag("status", String.valueOf(response.getStatus()))
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(count);
+        }
+    }
+}
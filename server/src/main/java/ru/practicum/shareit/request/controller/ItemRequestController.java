@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -21,9 +22,17 @@ public class ItemRequestController {
     private final ItemRequestService requestService;
 
     @GetMapping
-    public List<ItemRequestWithItemDto> getOwnRequests(@RequestHeader(HEADER) long userId) {
-        log.info("User {} get own requests", userId);
-        return requestService.getOwnRequests(userId);
+    public List<ItemRequestWithItemDto> getOwnRequests(
+            @RequestHeader(HEADER) long userId,
+            @RequestParam(value = "from", required = false) Integer from,
+            @RequestParam(value = "size", required = false) Integer size) {
+        if (size == null) {
+            log.info("User {} get own requests", userId);
+            return requestService.getOwnRequests(userId);
+        }
+        int first = from == null ? 0 : from;
+        log.info("User {} get own requests with from = {} and size = {}", userId, first, size);
+        return requestService.getOwnRequests(userId, first, size);
     }
 
     @GetMapping("/all")
@@ -43,8 +52,12 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestWithItemDto getRequest(@RequestHeader(HEADER) long userId, @PathVariable long requestId) {
+    public ItemRequestWithItemDto getRequest(@RequestHeader(HEADER) long userId, @PathVariable long requestId,
+                                             WebRequest request) {
         log.info("User {} get request {}", userId, requestId);
+        if (request.checkNotModified(requestService.getRequestEtag(userId, requestId))) {
+            return null;
+        }
         return requestService.getRequest(userId, requestId);
     }
 }
\ No newline at end of file
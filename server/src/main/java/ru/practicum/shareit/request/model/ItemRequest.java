@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
  * id — уникальный идентификатор запроса;
  * description — текст запроса, содержащий описание требуемой вещи;
  * requester — пользователь, создавший запрос;
- * created — дата и время создания запроса..
+ * created — дата и время создания запроса;
+ * version — версия для оптимистической блокировки и ETag ответа.
  */
 @Getter
 @Setter
@@ -26,8 +27,11 @@ public class ItemRequest {
     @Column(name = "description")
     private String description;
     @JoinColumn(name = "requester_user_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User requester;
     @Column(name = "created")
     private LocalDateTime created;
+    @Version
+    @Column(name = "version")
+    private long version;
 }
\ No newline at end of file
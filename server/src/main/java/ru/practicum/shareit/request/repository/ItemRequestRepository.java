@@ -10,11 +10,17 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     /**
-     * Получение списка запросов пользователя
+     * Получение списка запросов пользователя, от новых к старым
      */
-    @Query("select i from ItemRequest i where i.requester.id = ?1")
+    @Query("select i from ItemRequest i where i.requester.id = ?1 order by i.created desc")
     List<ItemRequest> findAllByRequesterId(Long requesterId);
 
+    /**
+     * Получение страницы запросов пользователя
+     */
+    @Query("select i from ItemRequest i where i.requester.id = ?1")
+    List<ItemRequest> findAllByRequesterId(Long requesterId, Pageable pageable);
+
     /**
      * Получение списка запросов других пользователей
      */
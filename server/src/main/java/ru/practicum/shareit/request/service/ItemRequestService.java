@@ -12,6 +12,11 @@ public interface ItemRequestService {
      */
     List<ItemRequestWithItemDto> getOwnRequests(long userId);
 
+    /**
+     * Получение страницы своих запросов с ответами на них
+     */
+    List<ItemRequestWithItemDto> getOwnRequests(long userId, int from, int size);
+
     /**
      * Получение списка запросов, созданных другими пользователями
      */
@@ -26,4 +31,9 @@ public interface ItemRequestService {
      * Получение данных о конкретном запросе с ответами на него
      */
     ItemRequestWithItemDto getRequest(long userId, long requestId);
+
+    /**
+     * ETag запроса по версиям запроса и созданных по нему предметов
+     */
+    String getRequestEtag(long userId, long requestId);
 }
\ No newline at end of file
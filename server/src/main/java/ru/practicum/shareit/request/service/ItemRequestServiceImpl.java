@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -19,11 +21,13 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.ValidatorServer;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
@@ -33,7 +37,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemMapper itemMapper;
 
     /**
-     * Получение списка своих запросов с ответами на них
+     * Получение списка своих запросов с ответами на них, от новых к старым
      *
      * @param userId id пользователя
      */
@@ -44,6 +48,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return getListRequest(requests);
     }
 
+    /**
+     * Получение страницы своих запросов с ответами на них
+     *
+     * @param userId id пользователя
+     * @param from   индекс первого элемента
+     * @param size   количество элементов для отображения
+     */
+    @Override
+    public List<ItemRequestWithItemDto> getOwnRequests(long userId, int from, int size) {
+        validator.validateAndReturnUserByUserId(userId);
+        validator.validatePage(from, size);
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
+        List<ItemRequest> requests = requestRepository.findAllByRequesterId(userId, pageable);
+        return getListRequest(requests);
+    }
+
     /**
      * Получение списка запросов, созданных другими пользователями
      *
@@ -54,7 +74,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestWithItemDto> getAllRequests(long userId, int from, int size) {
         validator.validateAndReturnUserByUserId(userId);
-        Pageable pageable = PageRequest.of(from, size, Sort.by("created").descending());
+        validator.validatePage(from, size);
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
         List<ItemRequest> requests = requestRepository.findAllByRequesterIdIsNot(userId, pageable);
         return getListRequest(requests);
     }
@@ -86,6 +107,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestMapper.toItemRequestWithItemDto(itemRequest, getListItemDtoByRequestId(requestId));
     }
 
+    /**
+     * ETag ответа getRequest: версия запроса и сводка версий предметов, созданных по нему
+     *
+     * @param userId    id пользователя
+     * @param requestId id запроса
+     */
+    @Override
+    public String getRequestEtag(long userId, long requestId) {
+        validator.validateAndReturnUserByUserId(userId);
+        ItemRequest itemRequest = validator.validateAndReturnItemRequestByRequestId(requestId);
+        return String.format("r%d-%d-i%s", itemRequest.getId(), itemRequest.getVersion(),
+                itemRepository.findVersionTagByRequestId(requestId));
+    }
+
     /**
      * Получение списка запрошенных вещей по идентификатору запроса
      *
@@ -101,7 +136,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      * @param requests список запросов вещей
      */
     private List<ItemRequestWithItemDto> getListRequest(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
         return requests.stream().map(itemRequest -> itemRequestMapper.toItemRequestWithItemDto(
-                itemRequest, getListItemDtoByRequestId(itemRequest.getId()))).collect(Collectors.toList());
+                itemRequest, itemsByRequestId.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -7,7 +7,8 @@ import javax.persistence.*;
 /**
  * id — уникальный идентификатор пользователя;
  * name — имя или логин пользователя;
- * email — адрес электронной почты.
+ * email — адрес электронной почты;
+ * version — версия для оптимистической блокировки и ETag ответа.
  */
 @Entity
 @Table(name = "users")
@@ -24,4 +25,7 @@ public class User {
     private String name;
     @Column(name = "email", nullable = false, length = 200, unique = true)
     private String email;
+    @Version
+    @Column(name = "version")
+    private long version;
 }
\ No newline at end of file
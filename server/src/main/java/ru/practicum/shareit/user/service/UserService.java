@@ -28,6 +28,11 @@ public interface UserService {
      */
     UserDto findUserDtoById(Long userId);
 
+    /**
+     * ETag пользователя по версии
+     */
+    String getUserEtag(long userId);
+
     /**
      * Удаление пользователя по id
      */
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -15,6 +19,7 @@ import java.util.List;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
@@ -42,23 +47,25 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Обновление пользователя
+     * Обновление пользователя. Пользователь читается из базы, а не из кэша,
+     * чтобы не изменять общий закэшированный объект
      *
      * @param userDto dto пользователя
      */
     @Override
     @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "users", key = "#userId"),
+            @CacheEvict(cacheNames = "bookings", allEntries = true)})
     public UserDto updateUser(UserDto userDto, Long userId) {
-        User user = validator.validateAndReturnUserByUserId(userId);
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(String.format(
+                "пользователь с id '%d' не найден в списке пользователей!", userId)));
         if (userDto.getName() != null) {
             user.setName(userDto.getName());
         }
         if (userDto.getEmail() != null) {
             user.setEmail(userDto.getEmail());
         }
-        userRepository.save(user);
-        User actualUser = validator.validateAndReturnUserByUserId(userId);
-        return userMapper.toUserDto(actualUser);
+        return userMapper.toUserDto(userRepository.saveAndFlush(user));
     }
 
     /**
@@ -72,6 +79,18 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(validator.validateAndReturnUserByUserId(userId));
     }
 
+    /**
+     * ETag пользователя по версии. Пользователь берется из кэша, поэтому совпадение ETag
+     * проверяется без обращения к базе
+     *
+     * @param userId id пользователя
+     */
+    @Override
+    public String getUserEtag(long userId) {
+        User user = validator.validateAndReturnUserByUserId(userId);
+        return String.format("u%d-%d", user.getId(), user.getVersion());
+    }
+
     /**
      * Удаление пользователя по id
      *
@@ -79,6 +98,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "users", key = "#userId"),
+            @CacheEvict(cacheNames = "bookings", allEntries = true)})
     public void deleteUser(Long userId) {
         validator.validateAndReturnUserByUserId(userId);
         userRepository.deleteById(userId);
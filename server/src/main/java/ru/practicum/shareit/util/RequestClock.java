@@ -0,0 +1,44 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Текущее время для сервисов. В HTTP-запросе время фиксируется при первом обращении и хранится в атрибуте
+ * запроса, поэтому все проверки и запросы к базе внутри него видят одно и то же время. Вне HTTP-запроса
+ * время берется из Clock при каждом вызове.
+ */
+@Component
+public class RequestClock {
+    private static final String ATTRIBUTE = RequestClock.class.getName();
+    private final Clock clock;
+
+    public RequestClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Время текущего HTTP-запроса или текущее время Clock вне запроса
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.ofInstant(instant(), clock.getZone());
+    }
+
+    private Instant instant() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return clock.instant();
+        }
+        Instant instant = (Instant) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (instant == null) {
+            instant = clock.instant();
+            attributes.setAttribute(ATTRIBUTE, instant, RequestAttributes.SCOPE_REQUEST);
+        }
+        return instant;
+    }
+}
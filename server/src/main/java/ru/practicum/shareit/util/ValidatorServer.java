@@ -2,6 +2,7 @@ package ru.practicum.shareit.util;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -17,18 +19,33 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 @Component
 public class ValidatorServer {
+    /**
+     * Статусы бронирований, которые занимают предмет на период бронирования
+     */
+    public static final Set<BookingStatus> OCCUPYING_STATUSES = EnumSet.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
 
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final RequestClock requestClock;
 
+    /**
+     * Получение пользователя по id с кэшированием в кэше users.
+     * Кэш сбрасывается при изменении и удалении пользователя в UserServiceImpl
+     */
+    @Cacheable("users")
     public User validateAndReturnUserByUserId(Long userId) {
         return userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(String.format(
                 "пользователь с id '%d' не найден в списке пользователей!", userId)));
@@ -36,14 +53,23 @@ public class ValidatorServer {
 
 
 
-    public void validateOwnerFromItem(Long userId, Long itemId) {
-        if (!userId.equals(validateAndReturnItemByItemId(itemId).getOwner().getId())) {
+    /**
+     * Проверка, что пользователь является владельцем уже полученного предмета
+     */
+    public void validateOwnerFromItem(Long userId, Item item) {
+        long itemId = item.getId();
+        if (!userId.equals(item.getOwner().getId())) {
             log.warn("пользователь с userId '{}' не является владельцем предмета с itemId {}!", userId, itemId);
             throw new UserNotFoundException(String.format("пользователь с userId '%d' не является " +
                     "владельцем предмета с itemId '%d'!", userId, itemId));
         }
     }
 
+    /**
+     * Получение предмета по id с кэшированием в кэше items.
+     * Кэш сбрасывается при изменении и удалении предмета в ItemServiceImpl
+     */
+    @Cacheable("items")
     public Item validateAndReturnItemByItemId(Long itemId) {
         return itemRepository.findById(itemId).orElseThrow(() ->
                 new ItemNotFoundException(String.format("предмет с id '%d' не найден в списке предметов!",
@@ -79,6 +105,35 @@ public class ValidatorServer {
     public Booking validateForUpdateBooking(User user, long bookingId) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
                 new ItemNotFoundException(String.format("бронь предмета с bookingId '%d' не найдена!", bookingId)));
+        validateWaitingBookingOwner(user, booking);
+        return booking;
+    }
+
+    /**
+     * Проверка списка бронирований перед изменением статуса: бронирования вместе с вещами и владельцами
+     * читаются одним запросом, все должны существовать, принадлежать владельцу и ожидать подтверждения.
+     * Ошибка в любом бронировании отклоняет весь список
+     *
+     * @param user       владелец вещей
+     * @param bookingIds id бронирований без повторов
+     */
+    public List<Booking> validateForUpdateBookings(User user, Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            log.warn("список бронирований пуст");
+            throw new ValidationException("список бронирований не должен быть пустым!");
+        }
+        List<Booking> bookings = bookingRepository.findAllByIdIn(bookingIds);
+        if (bookings.size() != bookingIds.size()) {
+            Set<Long> found = bookings.stream().map(Booking::getId).collect(Collectors.toSet());
+            List<Long> missing = bookingIds.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+            log.warn("брони предметов с bookingId {} не найдены", missing);
+            throw new ItemNotFoundException(String.format("брони предметов с bookingId %s не найдены!", missing));
+        }
+        bookings.forEach(booking -> validateWaitingBookingOwner(user, booking));
+        return bookings;
+    }
+
+    private void validateWaitingBookingOwner(User user, Booking booking) {
         if (user.getId() != booking.getItem().getOwner().getId()) {
             log.warn("пользователь с id {} не владелец вещи c id {}", user.getId(), booking.getItem().getId());
             throw new ItemNotFoundException(String.format("пользователь с id '%d' не владелец вещи c id '%d'",
@@ -92,13 +147,68 @@ public class ValidatorServer {
             log.warn("Бронь уже подтверждена(WAITING)");
             throw new ValidationException("Бронь уже подтверждена(WAITING)");
         }
-        return booking;
+    }
+
+    /**
+     * Проверка, что период бронирования не пересекается с ожидающими и подтвержденными бронированиями предмета.
+     * Строка предмета блокируется до конца транзакции, поэтому параллельные бронирования одного предмета
+     * проверяются и сохраняются по очереди и не могут занять один период.
+     * В Postgres то же условие дополнительно проверяется ограничением ex_bookings_item_period.
+     */
+    public void validateBookingPeriod(Item item, LocalDateTime start, LocalDateTime end) {
+        itemRepository.findByIdForUpdate(item.getId()).orElseThrow(() ->
+                new ItemNotFoundException(String.format("предмет с id '%d' не найден в списке предметов!",
+                        item.getId())));
+        if (bookingRepository.existsOverlapping(item.getId(), OCCUPYING_STATUSES, start, end)) {
+            log.warn("предмет с id {} уже забронирован на период с {} по {}", item.getId(), start, end);
+            throw new ValidationException(String.format("предмет с id '%d' уже забронирован на период с %s по %s",
+                    item.getId(), start, end));
+        }
+    }
+
+    /**
+     * Проверка параметров страницы: индекс первого элемента не отрицательный, размер страницы больше нуля
+     */
+    public void validatePage(int from, int size) {
+        if (from < 0 || size < 1) {
+            log.warn("некорректная страница: from = {}, size = {}", from, size);
+            throw new ValidationException(String.format("from '%d' не должен быть отрицательным, "
+                    + "а size '%d' должен быть больше нуля", from, size));
+        }
+    }
+
+    /**
+     * Проверка периода календаря занятости предмета: начало и конец заданы, начало раньше конца
+     */
+    public void validateAvailabilityPeriod(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            log.warn("некорректный период с {} по {}", start, end);
+            throw new ValidationException(String.format("начало периода '%s' должно быть раньше конца '%s'",
+                    start, end));
+        }
+    }
+
+    /**
+     * Проверка нового предмета: доступность, название и описание заданы, название и описание не пустые
+     */
+    public void validateItemAll(ItemDto itemDto) {
+        if (itemDto.getAvailable() == null) {
+            log.warn("доступность предмета не должна быть отсутствует!");
+            throw new ValidationException("доступность предмета не должна быть отсутствует!");
+        }
+        if (itemDto.getName() == null || itemDto.getName().isEmpty()) {
+            log.warn("имя предмета не должно быть пустым!");
+            throw new ValidationException("имя предмета не должно быть пустым!");
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isEmpty()) {
+            log.warn("описание предмета не должно быть пустым!");
+            throw new ValidationException("описание предмета не должно быть пустым!");
+        }
     }
 
     public void validateBookingForComment(Item item, User booker) {
-        log.info("LocalDateTime.now() = {}", LocalDateTime.now());
         List<Booking> bookingList = bookingRepository.validateForTakeItem(BookingStatus.REJECTED, booker,
-                item, LocalDateTime.now());
+                item, requestClock.now());
         if (bookingList.isEmpty()) {
             log.warn("пользователь с id {} не арендовал предмет c id {}", booker.getId(), item.getId());
             throw new ValidationException(String.format("пользователь с id '%d' не арендовал предмет c id '%d'",
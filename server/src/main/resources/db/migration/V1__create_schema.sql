@@ -1,4 +1,3 @@
-DROP TABLE IF EXISTS comments, item_requests, bookings, items, users;
 CREATE TABLE IF NOT EXISTS users
 (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -0,0 +1,25 @@
+-- Бронирования пользователя: ALL/FUTURE/CURRENT и выборка по курсору (start, id)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_user_id, start_date_time, booking_id);
+-- Бронирования пользователя с учетом статуса: WAITING/REJECTED
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_user_id, status, start_date_time, booking_id);
+-- Прошедшие бронирования пользователя: PAST
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_user_id, end_date_time);
+-- Проверка аренды предмета перед комментарием
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_start ON bookings (booker_user_id, item_id, start_date_time);
+-- Бронирования владельца через предметы, последнее бронирование предмета
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date_time, booking_id);
+-- Бронирования владельца с учетом статуса
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date_time, booking_id);
+-- Следующее бронирование предмета и прошедшие бронирования владельца
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date_time);
+
+-- Предметы владельца
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_user_id, item_id);
+-- Предметы, созданные по запросу
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+-- Отзывы предмета
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+-- Запросы пользователя
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_user_id, created);
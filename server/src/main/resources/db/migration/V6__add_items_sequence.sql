@@ -0,0 +1,6 @@
+-- id предметов выдаются последовательностью блоками по 50 значений: Hibernate с IDENTITY
+-- вставляет строки по одной, а с последовательностью объединяет вставки в пакеты JDBC.
+-- Значение последовательности — верхняя граница выданного блока (pooled-оптимизатор Hibernate).
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
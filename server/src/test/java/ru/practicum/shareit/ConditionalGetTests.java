@@ -0,0 +1,187 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.config.EtagConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.servlet.Filter;
+import javax.servlet.ServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Условные GET-запросы, которыми gateway перепроверяет закэшированные ответы
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ConditionalGetTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private final MockMvc mvc;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+        booker = userRepository.save(createUserTwoWithoutId());
+        item = itemRepository.save(createItemWithoutId(owner));
+        request = createRequestWithoutId();
+        request.setRequester(owner);
+        request = itemRequestRepository.save(request);
+    }
+
+    @Test
+    @DisplayName("ETag и ответ 304 для пользователя")
+    void user() throws Exception {
+        String etag = etag("/users/" + owner.getId());
+        mvc.perform(get("/users/{id}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("ETag и ответ 304 для предмета и поиска")
+    void item() throws Exception {
+        String etag = etag("/items/" + item.getId());
+        mvc.perform(get("/items/{id}", item.getId()).header(HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        String searchEtag = etag("/items/search?text=" + item.getName());
+        mvc.perform(get("/items/search").param("text", item.getName()).header(HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, searchEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("ETag и ответ 304 для запроса предмета")
+    void request() throws Exception {
+        String etag = etag("/requests/" + request.getId());
+        mvc.perform(get("/requests/{id}", request.getId()).header(HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("После изменения предмета старый ETag не совпадает")
+    void itemChanged() throws Exception {
+        String etag = etag("/items/" + item.getId());
+        mvc.perform(patch("/items/{id}", item.getId()).header(HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"newName\"}"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items/{id}", item.getId()).header(HEADER, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        assertNotEquals(etag, etag("/items/" + item.getId()));
+    }
+
+    @Test
+    @DisplayName("ETag пользователя меняется после изменения пользователя")
+    void userChanged() throws Exception {
+        String etag = etag("/users/" + owner.getId());
+        mvc.perform(patch("/users/{id}", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"newName\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etag("/users/" + owner.getId()));
+    }
+
+    @Test
+    @DisplayName("ETag предмета меняется после добавления отзыва")
+    void commentAdded() throws Exception {
+        String etag = etag("/items/" + item.getId(), booker.getId());
+        commentRepository.save(createCommentWithoutId(booker, item));
+        assertNotEquals(etag, etag("/items/" + item.getId(), booker.getId()));
+    }
+
+    @Test
+    @DisplayName("Бронирования меняют ETag предмета только для владельца")
+    void bookingApproved() throws Exception {
+        Booking booking = bookingRepository.save(createBookingWithoutId(booker, item));
+        String ownerEtag = etag("/items/" + item.getId());
+        String bookerEtag = etag("/items/" + item.getId(), booker.getId());
+        mvc.perform(patch("/bookings/{id}", booking.getId()).header(HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+        assertNotEquals(ownerEtag, etag("/items/" + item.getId()));
+        assertEquals(bookerEtag, etag("/items/" + item.getId(), booker.getId()));
+    }
+
+    @Test
+    @DisplayName("ETag запроса меняется после изменения предмета, созданного по запросу")
+    void requestItemChanged() throws Exception {
+        item.setRequestId(request.getId());
+        item = itemRepository.save(item);
+        String etag = etag("/requests/" + request.getId());
+        mvc.perform(patch("/items/{id}", item.getId()).header(HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etag("/requests/" + request.getId()));
+    }
+
+    @Test
+    @DisplayName("Фильтр ETag буферизует только ответы на GET-запросы")
+    void etagFilterOnlyForGet() throws Exception {
+        Filter filter = new EtagConfig().etagFilter().getFilter();
+        for (String method : List.of("GET", "POST", "PATCH", "DELETE")) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            List<ServletResponse> filtered = new ArrayList<>();
+            filter.doFilter(new MockHttpServletRequest(method, "/items/import"), response,
+                    (request, chainResponse) -> filtered.add(chainResponse));
+            assertEquals(method.equals("GET"), filtered.get(0) instanceof ContentCachingResponseWrapper, method);
+        }
+    }
+
+    private String etag(String uri) throws Exception {
+        return etag(uri, owner.getId());
+    }
+
+    private String etag(String uri, long userId) throws Exception {
+        String etag = mvc.perform(get(uri).header(HEADER, userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Таймеры методов сервисов и количество SQL-запросов на HTTP-запрос в /actuator/prometheus
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private final MockMvc mvc;
+    private final MeterRegistry registry;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+        item = itemRepository.save(createItemWithoutId(owner));
+    }
+
+    @Test
+    @DisplayName("Таймеры методов сервисов с состоянием бронирований в тегах")
+    void serviceTimers() throws Exception {
+        mvc.perform(get("/bookings").param("state", "PAST").header(HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/bookings/owner").param("state", "unknown").header(HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/{id}", 99L))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, serviceTimer("BookingServiceImpl", "getBookingsByBookerId", "PAST").count());
+        assertEquals(1, serviceTimer("BookingServiceImpl", "getBookingsByOwnerId", "OTHER").count());
+        assertEquals(1, registry.get("shareit.service")
+                .tags("class", "UserServiceImpl", "method", "getUserEtag", "state", "none",
+                        "exception", "UserNotFoundException")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Количество SQL-запросов на HTTP-запрос и гистограммы в формате Prometheus")
+    void sqlStatements() throws Exception {
+        mvc.perform(get("/items/{itemId}", item.getId()).header(HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        DistributionSummary statements = registry.get("shareit.http.sql.statements")
+                .tags("method", "GET", "uri", "/items/{itemId}", "status", "200")
+                .summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+
+        String prometheus = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(prometheus.contains("shareit_http_sql_statements_bucket{method=\"GET\",status=\"200\","
+                + "uri=\"/items/{itemId}\""));
+        assertTrue(prometheus.contains("shareit_service_seconds_bucket{class=\"ItemServiceImpl\","));
+        assertTrue(prometheus.contains("http_server_requests_seconds_bucket{"));
+    }
+
+    private Timer serviceTimer(String className, String method, String state) {
+        return registry.get("shareit.service")
+                .tags("class", className, "method", method, "state", state)
+                .timer();
+    }
+}
@@ -0,0 +1,272 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка индексов миграции V2 на SQL, который Hibernate отправляет в базу при вызове методов репозиториев.
+ * Таблицы заполняются данными и анализируются, чтобы H2 выбирал индекс по статистике.
+ * Если индекс V2 покрывает больше условий запроса, чем индекс внешнего ключа, план H2 должен идти по нему.
+ * По внешнему ключу H2 создает собственный индекс, выбирает его при равенстве только по первому столбцу
+ * и не использует индексы вместо сортировки. Поэтому индексы V2, которые нужны Postgres для ORDER BY
+ * без сортировки, проверяются по составу: запрос фильтрует по первому столбцу индекса,
+ * а следующие столбцы есть в его условии или сортировке.
+ * Без миграции V2 нужного имени индекса нет ни в плане, ни в схеме
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SqlStatementCounter")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryIndexTests extends StorageForTests {
+    private static final int USERS = 20;
+    private static final int ITEMS_PER_USER = 5;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private final TestEntityManager entityManager;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private User user;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+
+    /**
+     * ANALYZE в H2 фиксирует транзакцию, поэтому данные создаются один раз и остаются для всех тестов класса
+     */
+    @BeforeEach
+    void setUp() {
+        if (userRepository.count() == 0) {
+            fill();
+            entityManager.getEntityManager().createNativeQuery("analyze").executeUpdate();
+        }
+        List<User> users = userRepository.findAll(Sort.by("id"));
+        user = users.get(0);
+        booker = users.get(1);
+        item = itemRepository.findByOwnerIdOrderById(user.getId(), PageRequest.of(0, 1)).get(0);
+        request = itemRequestRepository.findAllByRequesterId(user.getId()).get(0);
+    }
+
+    @Test
+    @DisplayName("План запроса будущих и текущих букингов пользователя")
+    void futureBookingByBooker() {
+        assertPlanUses("IDX_BOOKINGS_BOOKER_START",
+                () -> bookingRepository.findFutureBookingByBookerId(user.getId(), NOW, PAGE));
+        assertPlanUses("IDX_BOOKINGS_BOOKER_START",
+                () -> bookingRepository.findCurrentBookingByBookerId(user.getId(), NOW, PAGE));
+    }
+
+    @Test
+    @DisplayName("План запроса букингов пользователя с учетом статуса")
+    void bookingByBookerAndStatus() {
+        assertPlanUses("IDX_BOOKINGS_BOOKER_STATUS_START",
+                () -> bookingRepository.findByBookerIdAndStatus(user.getId(), BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    @DisplayName("План запроса прошедших букингов пользователя")
+    void pastBookingByBooker() {
+        assertPlanUses("IDX_BOOKINGS_BOOKER_END",
+                () -> bookingRepository.findPastBookingByBookerId(user.getId(), NOW, PAGE));
+    }
+
+    @Test
+    @DisplayName("План запроса проверки аренды предмета пользователем")
+    void validateForTakeItem() {
+        assertPlanUses("IDX_BOOKINGS_BOOKER_ITEM_START",
+                () -> bookingRepository.validateForTakeItem(BookingStatus.REJECTED, booker, item, NOW));
+    }
+
+    @Test
+    @DisplayName("План запроса предметов по запросу")
+    void itemsByRequest() {
+        assertPlanUses("IDX_ITEMS_REQUEST", () -> itemRepository.findByRequestId(request.getId()));
+        assertPlanUses("IDX_ITEMS_REQUEST",
+                () -> itemRepository.findByRequestIdIn(List.of(request.getId(), request.getId() + 1)));
+    }
+
+    @Test
+    @DisplayName("Индекс запроса всех букингов пользователя и страницы после курсора")
+    void allBookingByBooker() {
+        assertIndexMatches("IDX_BOOKINGS_BOOKER_START",
+                () -> bookingRepository.findAllByBookerId(user.getId(), PAGE),
+                "booker_user_id", "start_date_time");
+        assertIndexMatches("IDX_BOOKINGS_BOOKER_START",
+                () -> bookingRepository.findAllByBookerIdAfterCursor(user.getId(), NOW, Long.MAX_VALUE, PAGE),
+                "booker_user_id", "start_date_time", "booking_id");
+    }
+
+    @Test
+    @DisplayName("Индекс запроса букингов владельца предметов")
+    void allBookingByOwner() {
+        assertIndexMatches("IDX_ITEMS_OWNER",
+                () -> bookingRepository.findAllByItemOwnerId(user.getId(), PAGE),
+                "owner_user_id");
+        assertIndexMatches("IDX_BOOKINGS_ITEM_START",
+                () -> bookingRepository.findAllByItemOwnerId(user.getId(), PAGE),
+                "item_id", "start_date_time");
+        assertIndexMatches("IDX_BOOKINGS_ITEM_STATUS_START",
+                () -> bookingRepository.findBookingByOwnerIdAndStatus(user.getId(), BookingStatus.WAITING, PAGE),
+                "item_id", "status", "start_date_time");
+    }
+
+    @Test
+    @DisplayName("Индекс запроса последнего и следующего букинга предмета")
+    void lastAndNextBookingByItem() {
+        assertIndexMatches("IDX_BOOKINGS_ITEM_START",
+                () -> bookingRepository.findFirstByItemOrderByStartAsc(item),
+                "item_id", "start_date_time");
+        assertIndexMatches("IDX_BOOKINGS_ITEM_END",
+                () -> bookingRepository.findFirstByItemOrderByEndDesc(item),
+                "item_id", "end_date_time");
+    }
+
+    @Test
+    @DisplayName("Индекс запроса предметов владельца")
+    void itemsByOwner() {
+        assertIndexMatches("IDX_ITEMS_OWNER",
+                () -> itemRepository.findByOwnerIdOrderById(user.getId(), PAGE),
+                "owner_user_id", "item_id");
+    }
+
+    @Test
+    @DisplayName("Индекс запроса отзывов предмета")
+    void commentsByItem() {
+        assertIndexMatches("IDX_COMMENTS_ITEM",
+                () -> commentRepository.getAllByItemId(item.getId()),
+                "item_id");
+        assertIndexMatches("IDX_COMMENTS_ITEM",
+                () -> commentRepository.getAllByItemIdIn(List.of(item.getId(), item.getId() + 1)),
+                "item_id");
+    }
+
+    @Test
+    @DisplayName("Индекс запроса запросов пользователя")
+    void requestsByRequester() {
+        assertIndexMatches("IDX_ITEM_REQUESTS_REQUESTER_CREATED",
+                () -> itemRequestRepository.findAllByRequesterId(user.getId(),
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"))),
+                "requester_user_id", "created");
+    }
+
+    @Test
+    @DisplayName("Миграция V2 с индексами применена")
+    void migrationApplied() {
+        List<?> versions = entityManager.getEntityManager().createNativeQuery(
+                "select \"version\" from \"flyway_schema_history\" where \"success\"").getResultList();
+        assertTrue(versions.contains("2"), versions.toString());
+    }
+
+    private void fill() {
+        BookingStatus[] statuses = BookingStatus.values();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User newUser = new User();
+            newUser.setName("user" + i);
+            newUser.setEmail("user" + i + "@email.ru");
+            users.add(entityManager.persist(newUser));
+        }
+        for (int u = 0; u < USERS; u++) {
+            ItemRequest newRequest = new ItemRequest();
+            newRequest.setDescription("DescriptionRequest");
+            newRequest.setRequester(users.get(u));
+            newRequest.setCreated(NOW);
+            entityManager.persist(newRequest);
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                Item newItem = createItemWithoutId(users.get(u));
+                newItem.setRequestId(i == 0 ? newRequest.getId() : null);
+                entityManager.persist(newItem);
+                for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                    User newBooker = users.get((u + i + j + 1) % USERS);
+                    Booking booking = createBookingWithoutId(newBooker, newItem);
+                    booking.setStart(NOW.plusDays(j * 2L - BOOKINGS_PER_ITEM));
+                    booking.setEnd(NOW.plusDays(j * 2L - BOOKINGS_PER_ITEM + 1));
+                    booking.setStatus(statuses[j % statuses.length]);
+                    entityManager.persist(booking);
+                    entityManager.persist(createCommentWithoutId(newBooker, newItem));
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * План единственного SQL-запроса, отправленного вызовом репозитория, идет по индексу без полного скана таблицы
+     */
+    private void assertPlanUses(String index, Runnable repositoryCall) {
+        String plan = explain(statement(repositoryCall));
+        assertTrue(plan.contains("PUBLIC." + index + ":"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    /**
+     * Индекс начинается со столбцов columns, SQL-запрос вызова репозитория фильтрует по первому из них,
+     * а остальные есть в его условии или сортировке
+     */
+    private void assertIndexMatches(String index, Runnable repositoryCall, String... columns) {
+        List<?> indexColumns = entityManager.getEntityManager().createNativeQuery(
+                        "select lower(column_name) from information_schema.index_columns " +
+                                "where table_schema = 'PUBLIC' and index_name = ?1 order by ordinal_position")
+                .setParameter(1, index)
+                .getResultList();
+        assertTrue(indexColumns.size() >= columns.length, index + " " + indexColumns);
+        assertEquals(List.of(columns), indexColumns.subList(0, columns.length), index);
+        String sql = statement(repositoryCall).toLowerCase(Locale.ROOT);
+        String condition = sql.substring(sql.indexOf(" where "));
+        assertTrue(condition.matches("(?s).*\\.\\Q" + columns[0] + "\\E ?(=|in ).*"), sql);
+        for (String column : columns) {
+            assertTrue(condition.contains("." + column), column + ": " + sql);
+        }
+    }
+
+    private String statement(Runnable repositoryCall) {
+        SqlStatementCounter.reset();
+        repositoryCall.run();
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size(), statements.toString());
+        return statements.get(0);
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
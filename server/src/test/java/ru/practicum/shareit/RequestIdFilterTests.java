@@ -0,0 +1,48 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.config.RequestIdFilter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Id запроса от gateway в MDC логов сервера и в ответе
+ */
+public class RequestIdFilterTests {
+    private static final String HEADER = "X-Request-Id";
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    @DisplayName("Id запроса из заголовка gateway")
+    void requestIdFromHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader(HEADER, "gateway-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> logged = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> logged.set(MDC.get("requestId")));
+        assertEquals("gateway-42", logged.get());
+        assertEquals("gateway-42", response.getHeader(HEADER));
+        assertNull(MDC.get("requestId"));
+    }
+
+    @Test
+    @DisplayName("Новый id для запроса без заголовка и с некорректным заголовком")
+    void generatedRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader(HEADER, "bad id\n");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> assertNotNull(MDC.get("requestId")));
+        assertNotNull(response.getHeader(HEADER));
+        assertNotEquals("bad id\n", response.getHeader(HEADER));
+        assertNull(MDC.get("requestId"));
+    }
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Количество SQL-запросов на один вызов эндпоинта не должно зависеть от количества данных.
+ * Данные содержат несколько предметов, арендаторов, бронирований и отзывов, поэтому N+1 по
+ * связям бронирований, предметов и отзывов превышает бюджет и роняет тест.
+ * Кэши очищаются перед каждым вызовом, чтобы считать запросы в худшем случае.
+ * В бюджет получения предмета и запроса предмета по id входят агрегатные запросы для ETag.
+ * Изменения статусов списка бронирований отправляются одним пакетом update.
+ * При импорте предметов id выдаются последовательностью блоками, а вставки отправляются пакетами,
+ * поэтому число запросов растет как количество предметов, деленное на размер пакета.
+ * Выгрузка бронирований читает бронирования вместе с вещами и арендаторами одним запросом курсора.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SqlStatementCounter")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SqlStatementCountTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 3;
+    private static final int IMPORTED_ITEMS = 500;
+    private final MockMvc mvc;
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final List<User> bookers = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private User owner;
+    private ItemRequest request;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(makeUser("owner"));
+        for (int i = 0; i < ITEMS; i++) {
+            bookers.add(userRepository.save(makeUser("booker" + i)));
+        }
+        request = new ItemRequest();
+        request.setDescription("DescriptionRequest");
+        request.setRequester(bookers.get(0));
+        request.setCreated(LocalDateTime.now());
+        request = itemRequestRepository.save(request);
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = createItemWithoutId(owner);
+            item.setRequestId(request.getId());
+            items.add(itemRepository.save(item));
+        }
+        for (User booker : bookers) {
+            for (int i = 0; i < ITEMS; i++) {
+                Booking newBooking = createBookingWithoutId(booker, items.get(i));
+                newBooking.setStart(LocalDateTime.now().minusDays(i + 2));
+                newBooking.setEnd(LocalDateTime.now().minusDays(i + 1));
+                booking = bookingRepository.save(newBooking);
+            }
+            items.forEach(item -> commentRepository.save(createCommentWithoutId(booker, item)));
+        }
+    }
+
+    @Test
+    @DisplayName("Количество запросов при получении бронирований")
+    void bookings() throws Exception {
+        long bookerId = bookers.get(0).getId();
+        assertStatements(2, get("/bookings").header(HEADER, bookerId));
+        assertStatements(3, get("/bookings").param("state", "PAST").header(HEADER, bookerId));
+        assertStatements(2, get("/bookings").param("cursor", "").header(HEADER, bookerId));
+        assertStatements(2, get("/bookings/owner").header(HEADER, owner.getId()));
+        assertStatements(2, get("/bookings/owner").param("state", "WAITING").header(HEADER, owner.getId()));
+        assertStatements(2, get("/bookings/owner").param("cursor", "").header(HEADER, owner.getId()));
+        assertStatements(2, get("/bookings/{id}", booking.getId()).header(HEADER, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Количество запросов при получении предметов")
+    void items() throws Exception {
+        assertStatements(5, get("/items").header(HEADER, owner.getId()));
+        assertStatements(6, get("/items/{id}", items.get(0).getId()).header(HEADER, owner.getId()));
+        assertStatements(4, get("/items/{id}", items.get(0).getId()).header(HEADER, bookers.get(0).getId()));
+        assertStatements(1, get("/items/search").param("text", "item").header(HEADER, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Количество запросов при получении запросов предметов")
+    void requests() throws Exception {
+        long requesterId = bookers.get(0).getId();
+        assertStatements(3, get("/requests").header(HEADER, requesterId));
+        assertStatements(3, get("/requests").param("from", "0").param("size", "10").header(HEADER, requesterId));
+        assertStatements(3, get("/requests/all").header(HEADER, owner.getId()));
+        assertStatements(4, get("/requests/{id}", request.getId()).header(HEADER, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Количество запросов при подтверждении списка бронирований")
+    void bulkApproval() throws Exception {
+        String bookingIds = bookingRepository.findAll().stream()
+                .map(existing -> String.valueOf(existing.getId()))
+                .collect(Collectors.joining(",", "[", "]"));
+        assertStatements(3, patch("/bookings").param("approved", "true").header(HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON).content(bookingIds));
+        assertTrue(bookingRepository.findAll().stream()
+                .allMatch(existing -> existing.getStatus() == BookingStatus.APPROVED));
+    }
+
+    @Test
+    @DisplayName("Количество запросов при импорте предметов")
+    void importItems() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < IMPORTED_ITEMS; i++) {
+            body.append(String.format("{\"name\":\"item%d\",\"description\":\"description\",\"available\":true,"
+                    + "\"requestId\":%d}%n", i, request.getId()));
+        }
+        assertStatements(15, post("/items/import").header(HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_NDJSON).content(body.toString()));
+        assertEquals(ITEMS + IMPORTED_ITEMS, itemRepository.count());
+    }
+
+    @Test
+    @DisplayName("Количество запросов при выгрузке бронирований")
+    void export() throws Exception {
+        assertAsyncStatements(2, get("/bookings/export").header(HEADER, bookers.get(0).getId()));
+        assertAsyncStatements(2, get("/bookings/owner/export").header(HEADER, owner.getId()));
+    }
+
+    private void assertStatements(int budget, RequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        SqlStatementCounter.reset();
+        mvc.perform(request).andExpect(status().isOk());
+        assertBudget(budget);
+    }
+
+    /**
+     * Запросы эндпоинта, который пишет ответ асинхронно, считаются после завершения записи
+     */
+    private void assertAsyncStatements(int budget, RequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        SqlStatementCounter.reset();
+        MvcResult result = mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertBudget(budget);
+    }
+
+    private void assertBudget(int budget) {
+        int count = SqlStatementCounter.count();
+        assertTrue(count <= budget, String.format("ожидалось не больше %d запросов, выполнено %d", budget, count));
+    }
+
+    private User makeUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@email.ru");
+        return user;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Счетчик SQL-запросов, которые Hibernate отправляет в базу, и их текст для проверки планов.
+ * Подключается в тестах свойством hibernate.session_factory.statement_inspector
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.size();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
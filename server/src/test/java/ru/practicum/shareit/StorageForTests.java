@@ -1,5 +1,9 @@
 package ru.practicum.shareit;
 
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.model.Booking;
@@ -23,6 +27,13 @@ public class StorageForTests {
     private final LocalDateTime dateTimeLast = LocalDateTime.parse("2022-11-10T10:10:10");
     private final LocalDateTime dateTimeNext = LocalDateTime.parse("2022-11-12T10:10:10");
 
+    /**
+     * Запрос без условных заголовков для прямого вызова методов контроллеров
+     */
+    protected WebRequest createWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
     protected UserDto createUserDto() {
         UserDto dto = new UserDto();
         dto.setId(1);
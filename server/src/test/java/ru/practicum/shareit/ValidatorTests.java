@@ -13,6 +13,7 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -22,7 +23,10 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.util.ValidatorServer;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -54,7 +58,7 @@ public class ValidatorTests extends StorageForTests {
         userRepository.save(user);
         Item item = createItemWithoutId(owner);
         itemRepository.save(item);
-        assertThrows(UserNotFoundException.class, () -> validator.validateOwnerFromItem(user.getId(), item.getId()));
+        assertThrows(UserNotFoundException.class, () -> validator.validateOwnerFromItem(user.getId(), item));
     }
 
     @Test
@@ -89,6 +93,28 @@ public class ValidatorTests extends StorageForTests {
                 "арендовать у себя предмет с id '%d'", owner.getId(), item.getId()), ex1.getMessage());
     }
 
+    @Test
+    @DisplayName("Validator Тест пересечения периода букинга с ожидающими и подтвержденными букингами")
+    void validateBookingPeriod() {
+        User owner = userRepository.save(createUserWithoutId());
+        User booker = userRepository.save(createUserTwoWithoutId());
+        Item item = itemRepository.save(createItemWithoutId(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking booking = createBookingWithoutId(booker, item);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(2));
+        bookingRepository.save(booking);
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> validator
+                .validateBookingPeriod(item, start.plusDays(1), start.plusDays(3)));
+        assertEquals(String.format("предмет с id '%d' уже забронирован на период с %s по %s",
+                item.getId(), start.plusDays(1), start.plusDays(3)), ex.getMessage());
+        assertDoesNotThrow(() -> validator.validateBookingPeriod(item, start.plusDays(2), start.plusDays(3)));
+        booking.setStatus(BookingStatus.REJECTED);
+        bookingRepository.save(booking);
+        assertDoesNotThrow(() -> validator.validateBookingPeriod(item, start, start.plusDays(1)));
+    }
+
     @Test
     @DisplayName("Validator Тест проверок доступности предмета для метода добавления букинга")
     void validateForAddBooking2() {
@@ -183,6 +209,26 @@ public class ValidatorTests extends StorageForTests {
         assertEquals(booking, validator.validateForUpdateBooking(owner, booking.getId()));
     }
 
+    @Test
+    @DisplayName("Validator Тест проверок списка букингов для редактирования владельцем предмета")
+    void validateForUpdateBookings() {
+        User owner = userRepository.save(createUserWithoutId());
+        User user = userRepository.save(createUserTwoWithoutId());
+        Item item = itemRepository.save(createItemWithoutId(owner));
+        Booking booking = bookingRepository.save(createBookingWithoutId(user, item));
+        assertEquals(List.of(booking), validator.validateForUpdateBookings(owner, List.of(booking.getId())));
+        ItemNotFoundException ex = assertThrows(ItemNotFoundException.class, () -> validator
+                .validateForUpdateBookings(owner, List.of(booking.getId(), 99L)));
+        assertEquals("брони предметов с bookingId [99] не найдены!", ex.getMessage());
+        assertThrows(ItemNotFoundException.class, () -> validator
+                .validateForUpdateBookings(user, List.of(booking.getId())));
+        assertThrows(ValidationException.class, () -> validator.validateForUpdateBookings(owner, List.of()));
+        booking.setStatus(BookingStatus.REJECTED);
+        bookingRepository.save(booking);
+        assertThrows(ValidationException.class, () -> validator
+                .validateForUpdateBookings(owner, List.of(booking.getId())));
+    }
+
     @Test
     @DisplayName("Validator Тест проверок наличие брони в БД для редактирования букинга")
     void validateForUpdateBooking2() {
@@ -283,4 +329,16 @@ public class ValidatorTests extends StorageForTests {
         itemRequestRepository.save(itemRequest);
         assertEquals(itemRequest, validator.validateAndReturnItemRequestByRequestId(itemRequest.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Validator Тест проверки полей нового предмета")
+    void validateItemAll() {
+        assertDoesNotThrow(() -> validator.validateItemAll(new ItemDto(0, "Дрель", "Ударная", true, 0, null)));
+        assertThrows(ValidationException.class, () ->
+                validator.validateItemAll(new ItemDto(0, "Дрель", "Ударная", null, 0, null)));
+        assertThrows(ValidationException.class, () ->
+                validator.validateItemAll(new ItemDto(0, "", "Ударная", true, 0, null)));
+        assertThrows(ValidationException.class, () ->
+                validator.validateItemAll(new ItemDto(0, "Дрель", null, true, 0, null)));
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.bookingTests;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Списки бронирований по состоянию при заданном времени сервера и их кэширование до смены состояния
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingClockIntegrationTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0, 7);
+    private final MockMvc mvc;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final MutableClock clock;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @TestConfiguration
+    static class MutableClockConfig {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Часы, которые стоят на месте, пока тест их не передвинет
+     */
+    static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void plus(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+        booker = userRepository.save(createUserTwoWithoutId());
+        item = itemRepository.save(createItemWithoutId(owner));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест текущих, прошедших и будущих бронирований на фиксированное время")
+    void statesAtFixedClock() throws Exception {
+        Booking past = save(NOW.minusHours(2), NOW.minusHours(1));
+        Booking current = save(NOW.minusHours(1), NOW.plusHours(1));
+        Booking justEnded = save(NOW.minusHours(1), NOW.minusSeconds(4));
+        Booking justStarted = save(NOW.minusSeconds(4), NOW.plusHours(2));
+        Booking future = save(NOW.plusHours(1), NOW.plusHours(2));
+
+        assertEquals(List.of(justStarted.getId(), current.getId()), ids("/bookings", booker, "CURRENT"));
+        assertEquals(List.of(justEnded.getId(), past.getId()), ids("/bookings", booker, "PAST"));
+        assertEquals(List.of(future.getId()), ids("/bookings/owner", owner, "FUTURE"));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест устаревания кэша списка бронирований при начале и окончании бронирования")
+    void cachedUntilNextStartOrEnd() throws Exception {
+        Booking booking = save(NOW.plusSeconds(2), NOW.plusSeconds(5));
+        assertEquals(List.of(booking.getId()), ids("/bookings", booker, "FUTURE"));
+        assertEquals(List.of(), ids("/bookings/owner", owner, "CURRENT"));
+
+        clock.plus(Duration.ofSeconds(3));
+        assertEquals(List.of(), ids("/bookings", booker, "FUTURE"));
+        assertEquals(List.of(booking.getId()), ids("/bookings/owner", owner, "CURRENT"));
+
+        clock.plus(Duration.ofSeconds(3));
+        assertEquals(List.of(), ids("/bookings/owner", owner, "CURRENT"));
+        assertEquals(List.of(booking.getId()), ids("/bookings", booker, "PAST"));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест кэша списка бронирований в интервале времени и его сброса")
+    void cachedUntilBookingChanged() throws Exception {
+        Booking future = save(NOW.plusHours(1), NOW.plusHours(2));
+        assertEquals(List.of(future.getId()), ids("/bookings", booker, "FUTURE"));
+
+        Booking later = save(NOW.plusHours(3), NOW.plusHours(4));
+        assertEquals(List.of(future.getId()), ids("/bookings", booker, "FUTURE"));
+
+        mvc.perform(patch("/bookings/{bookingId}", later.getId()).param("approved", "true")
+                        .header(HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        assertEquals(List.of(later.getId(), future.getId()), ids("/bookings", booker, "FUTURE"));
+    }
+
+    private Booking save(LocalDateTime start, LocalDateTime end) {
+        Booking booking = createBookingWithoutId(booker, item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return bookingRepository.save(booking);
+    }
+
+    private List<Long> ids(String path, User user, String state) throws Exception {
+        String response = mvc.perform(get(path).param("state", state).header(HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readValue(response, new TypeReference<List<BookingDto>>() {
+                }).stream()
+                .map(BookingDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.bookingTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Параллельные бронирования одного предмета на пересекающиеся периоды: сохраняется только одно
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTests extends StorageForTests {
+    private static final int BOOKERS = 8;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    @DisplayName("Параллельный Тест букинга пересекающихся периодов одного предмета")
+    void concurrentOverlappingBookings() throws Exception {
+        User owner = userRepository.save(createUserWithoutId());
+        Item item = itemRepository.save(createItemWithoutId(owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            User booker = userRepository.save(makeUser("booker" + i));
+            BookingDtoOnlyId bookingDto = new BookingDtoOnlyId();
+            bookingDto.setItemId(item.getId());
+            bookingDto.setStart(start.plusHours(i));
+            bookingDto.setEnd(start.plusHours(i + BOOKERS));
+            results.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.addBooking(booker.getId(), bookingDto);
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+        ready.countDown();
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                booked++;
+            }
+        }
+        executor.shutdown();
+        assertEquals(1, booked);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    private User makeUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@email.ru");
+        return user;
+    }
+}
@@ -7,29 +7,44 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.StorageForTests;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
 public class BookingControllerTests extends StorageForTests {
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private UserService userService;
     @Autowired
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -80,6 +95,39 @@ public class BookingControllerTests extends StorageForTests {
                 .andExpect(jsonPath("$.status", is(expectedBookingDto.getStatus().toString())));
     }
 
+    @Test
+    @DisplayName("ControllerMVC Тест обновления статуса списка букингов")
+    void updateStatusBookings() throws Exception {
+        BookingDto expectedBookingDto = createBookingDto();
+        expectedBookingDto.setStatus(BookingStatus.APPROVED);
+        when(bookingService.updateStatusBookings(1L, List.of(1L, 2L), true))
+                .thenReturn(List.of(expectedBookingDto));
+
+        mvc.perform(patch("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER, 1L)
+                        .queryParam("approved", "true")
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(expectedBookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].status", is(expectedBookingDto.getStatus().toString())));
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест ответа 409 при параллельном обновлении статуса букинга")
+    void updateStatusBookingConflict() throws Exception {
+        when(bookingService.updateStatusBooking(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mvc.perform(patch("/bookings/{bookingId}", 1L)
+                        .header(HEADER, 1L)
+                        .queryParam("approved", "true"))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("ControllerMVC Тест получения букинга по Id")
     void getBookingById() throws Exception {
@@ -138,4 +186,67 @@ public class BookingControllerTests extends StorageForTests {
                 .andExpect(jsonPath("$[0].end", is(bookingDto.getEnd().toString())))
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("ControllerMVC Тест получения страницы букингов пользователя по курсору")
+    void getBookingsByBookerIdAfterCursor() throws Exception {
+        BookingDto bookingDto = createBookingDto();
+        when(bookingService.getBookingsByBookerIdAfterCursor(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header(HEADER, 1L)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingDto).encode()));
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест получения последней страницы букингов владельца по курсору")
+    void getBookingsByOwnerIdAfterCursor() throws Exception {
+        BookingDto bookingDto = createBookingDto();
+        when(bookingService.getBookingsByOwnerIdAfterCursor(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(HEADER, 1L)
+                        .param("cursor", BookingCursor.of(bookingDto).encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест выгрузки бронирований пользователя в NDJSON")
+    void exportBookingsFromUser() throws Exception {
+        BookingDto bookingDto = createBookingDto();
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(1);
+            consumer.accept(bookingDto);
+            consumer.accept(bookingDto);
+            return null;
+        }).when(bookingService).exportBookingsByBookerId(eq(1L), any());
+
+        MvcResult result = mvc.perform(get("/bookings/export").header(HEADER, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String line = mapper.writeValueAsString(bookingDto) + "\n";
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + line));
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест выдачи ошибки при выгрузке бронирований владельца неизвестным пользователем")
+    void exportBookingsByUnknownOwner() throws Exception {
+        when(userService.findUserDtoById(99L)).thenThrow(new UserNotFoundException("пользователь не найден"));
+
+        mvc.perform(get("/bookings/owner/export").header(HEADER, 99L))
+                .andExpect(status().isNotFound());
+        verify(bookingService, never()).exportBookingsByOwnerId(anyLong(), any());
+    }
+}
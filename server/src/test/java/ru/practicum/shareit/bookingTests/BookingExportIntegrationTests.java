@@ -0,0 +1,119 @@
+package ru.practicum.shareit.bookingTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExportIntegrationTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final int BOOKINGS = 1234;
+    private final MockMvc mvc;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private User owner;
+    private User booker;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+        booker = userRepository.save(createUserTwoWithoutId());
+        Item first = itemRepository.save(createItemWithoutId(owner));
+        Item second = itemRepository.save(createItemWithoutId(owner));
+        List<Booking> newBookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setItem(i % 2 == 0 ? first : second);
+            booking.setBooker(booker);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i).plusMinutes(30));
+            booking.setStatus(i % 3 == 0 ? BookingStatus.APPROVED : BookingStatus.WAITING);
+            newBookings.add(booking);
+        }
+        bookings = bookingRepository.saveAll(newBookings);
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест выгрузки всех бронирований пользователя больше одной порции курсора")
+    void exportBookerBookings() throws Exception {
+        List<BookingDto> exported = export("/bookings/export", booker.getId());
+        assertEquals(BOOKINGS, exported.size());
+        List<Long> expectedIds = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        assertEquals(expectedIds, exported.stream().map(BookingDto::getId).collect(Collectors.toList()));
+        BookingDto last = exported.get(BOOKINGS - 1);
+        assertEquals(start, last.getStart());
+        assertEquals(BookingStatus.APPROVED, last.getStatus());
+        assertEquals(booker.getId(), last.getBooker().getId());
+        assertEquals(owner.getId(), last.getItem().getOwnerId());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест выгрузки бронирований владельца и пользователя без бронирований")
+    void exportOwnerBookings() throws Exception {
+        assertEquals(BOOKINGS, export("/bookings/owner/export", owner.getId()).size());
+        assertEquals(List.of(), export("/bookings/owner/export", booker.getId()));
+        assertEquals(List.of(), export("/bookings/export", owner.getId()));
+        mvc.perform(get("/bookings/export").header(HEADER, 99L))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<BookingDto> export(String path, long userId) throws Exception {
+        MvcResult result = mvc.perform(get(path).header(HEADER, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<BookingDto> exported = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            if (!line.isEmpty()) {
+                exported.add(objectMapper.readValue(line, BookingDto.class));
+            }
+        }
+        return exported;
+    }
+}
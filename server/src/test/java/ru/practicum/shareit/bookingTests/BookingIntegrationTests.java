@@ -55,8 +55,10 @@ public class BookingIntegrationTests extends StorageForTests {
         itemService.addItem(owner.getId(), item1);
         ItemDto itemDto2 = itemService.addItem(owner.getId(), item2);
         bookingDtoOnlyId2.setItemId(itemDto2.getId());
+        bookingDtoOnlyId2.setStart(bookingDtoOnlyId1.getStart().minusSeconds(1));
+        bookingDtoOnlyId2.setEnd(bookingDtoOnlyId1.getStart());
         BookingDto expectedBookingDto1 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
-        BookingDto expectedBookingDto2 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
+        BookingDto expectedBookingDto2 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId2);
         List<BookingDto> actualBookingDtoList = bookingController
                 .getAllBookingsFromUser(booker.getId(), "ALL", 0, 5);
         List<BookingDto> expectedBookingDtoList = List.of(expectedBookingDto1, expectedBookingDto2);
@@ -73,8 +75,10 @@ public class BookingIntegrationTests extends StorageForTests {
         itemService.addItem(owner.getId(), item1);
         ItemDto itemDto2 = itemService.addItem(owner.getId(), item2);
         bookingDtoOnlyId2.setItemId(itemDto2.getId());
+        bookingDtoOnlyId2.setStart(bookingDtoOnlyId1.getStart().minusSeconds(1));
+        bookingDtoOnlyId2.setEnd(bookingDtoOnlyId1.getStart());
         BookingDto expectedBookingDto1 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
-        BookingDto expectedBookingDto2 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
+        BookingDto expectedBookingDto2 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId2);
         List<BookingDto> actualBookingDtoList = bookingController
                 .getBookingByIdOwner(owner.getId(), "ALL", 0, 5);
         List<BookingDto> expectedBookingDtoList = List.of(expectedBookingDto1, expectedBookingDto2);
@@ -118,6 +122,44 @@ public class BookingIntegrationTests extends StorageForTests {
         assertEquals(BookingStatus.APPROVED, actualBookingDto.getStatus());
     }
 
+    @Test
+    @DisplayName("Интеграционный Тест подтверждения списка букингов владельцем")
+    void updateStatusBookings() {
+        UserDto owner = userService.addNewUser(user1);
+        UserDto booker = userService.addNewUser(user2);
+        itemService.addItem(owner.getId(), item1);
+        ItemDto itemDto2 = itemService.addItem(owner.getId(), item2);
+        bookingDtoOnlyId2.setItemId(itemDto2.getId());
+        BookingDto bookingDto1 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
+        BookingDto bookingDto2 = bookingController.addBooking(booker.getId(), bookingDtoOnlyId2);
+        List<BookingDto> actualBookingDtoList = bookingController.updateStatusBookings(owner.getId(), true,
+                List.of(bookingDto2.getId(), bookingDto1.getId(), bookingDto2.getId()));
+        assertEquals(List.of(bookingDto1.getId(), bookingDto2.getId()),
+                List.of(actualBookingDtoList.get(0).getId(), actualBookingDtoList.get(1).getId()));
+        assertEquals(BookingStatus.APPROVED, actualBookingDtoList.get(0).getStatus());
+        assertEquals(BookingStatus.APPROVED, actualBookingDtoList.get(1).getStatus());
+        assertEquals(BookingStatus.APPROVED,
+                bookingController.getBookingById(booker.getId(), bookingDto2.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест: ошибка в одном букинге отклоняет весь список")
+    void updateStatusBookingsRejectsWholeList() {
+        UserDto owner = userService.addNewUser(user1);
+        UserDto booker = userService.addNewUser(user2);
+        itemService.addItem(owner.getId(), item1);
+        BookingDto bookingDto = bookingController.addBooking(booker.getId(), bookingDtoOnlyId1);
+        List<Long> withMissing = List.of(bookingDto.getId(), bookingDto.getId() + 100);
+        ItemNotFoundException ex = assertThrows(ItemNotFoundException.class,
+                () -> bookingController.updateStatusBookings(owner.getId(), false, withMissing));
+        assertEquals(String.format("брони предметов с bookingId [%d] не найдены!", bookingDto.getId() + 100),
+                ex.getMessage());
+        assertThrows(ItemNotFoundException.class,
+                () -> bookingController.updateStatusBookings(booker.getId(), false, List.of(bookingDto.getId())));
+        assertEquals(BookingStatus.WAITING,
+                bookingController.getBookingById(booker.getId(), bookingDto.getId()).getStatus());
+    }
+
     @Test
     @DisplayName("Интеграционный Тест получения букинга предмета")
     void getBookingById() {
@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,10 +19,12 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -89,6 +92,31 @@ public class BookingRepositoryTests extends StorageForTests {
         assertEquals(expectedRejectedBookings, actualRejectedBookings);
     }
 
+    @Test
+    @DisplayName("DataJpaTest постраничного получения букингов пользователя по курсору")
+    void allBookingByBookerAfterCursor() {
+        List<Booking> expectedAllBookings = getBookingList("ALL");
+        expectedAllBookings.sort(Comparator.comparing(Booking::getStart).thenComparingLong(Booking::getId).reversed());
+        Pageable firstPage = PageRequest.of(0, 2);
+        List<Booking> firstBookings = bookingRepository.findAllByBookerIdAfterCursor(user2.getId(),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE, firstPage);
+        Booking last = firstBookings.get(firstBookings.size() - 1);
+        List<Booking> nextBookings = bookingRepository.findAllByBookerIdAfterCursor(user2.getId(),
+                last.getStart().truncatedTo(ChronoUnit.MICROS), last.getId(), firstPage);
+        List<Booking> actualAllBookings = new ArrayList<>(firstBookings);
+        actualAllBookings.addAll(nextBookings);
+        assertEquals(expectedAllBookings, actualAllBookings);
+    }
+
+    @Test
+    @DisplayName("DataJpaTest получения прошедших букингов владельца по курсору")
+    void pastBookingByOwnerAfterCursor() {
+        List<Booking> expectedPastBookings = getBookingList("PAST");
+        List<Booking> actualPastBookings = bookingRepository.findPastBookingByItemOwnerIdAfterCursor(user1.getId(),
+                LocalDateTime.now(), LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE, pageable);
+        assertEquals(expectedPastBookings, actualPastBookings);
+    }
+
     @Test
     @DisplayName("DataJpaTest получения всех букингов владельца")
     void allBookingByOwner() {
@@ -159,6 +187,66 @@ public class BookingRepositoryTests extends StorageForTests {
     }
 
 
+    @Test
+    @DisplayName("DataJpaTest получения кратких данных о последнем и следующем букинге предмета")
+    void getLastAndNextBookingsByItemId() {
+        User owner = createUserWithoutId();
+        entityManager.persist(owner);
+        User booker = createUserTwoWithoutId();
+        entityManager.persist(booker);
+        Item item = createItemWithoutId(owner);
+        entityManager.persist(item);
+        Booking first = createBookingWithoutId(booker, item);
+        first.setStart(LocalDateTime.now().minusDays(10));
+        first.setEnd(LocalDateTime.now().minusDays(5));
+        entityManager.persist(first);
+        Booking middle = createBookingWithoutId(booker, item);
+        middle.setStart(LocalDateTime.now().minusDays(1));
+        middle.setEnd(LocalDateTime.now().plusDays(1));
+        entityManager.persist(middle);
+        Booking second = createBookingWithoutId(booker, item);
+        second.setStart(LocalDateTime.now().plusDays(5));
+        second.setEnd(LocalDateTime.now().plusDays(10));
+        entityManager.persist(second);
+
+        List<BookingDtoOnlyId> actual = bookingRepository.findLastAndNextBookingsByItemId(item.getId());
+        assertEquals(List.of(first.getId(), second.getId()),
+                actual.stream().map(BookingDtoOnlyId::getId).collect(Collectors.toList()));
+        assertEquals(item.getId(), actual.get(0).getItemId());
+        assertEquals(booker.getId(), actual.get(0).getBookerId());
+        assertEquals(first.getStatus(), actual.get(0).getStatus());
+        assertEquals(List.of(), bookingRepository.findLastAndNextBookingsByItemId(item.getId() + 1));
+    }
+
+    @Test
+    @DisplayName("DataJpaTest получения последних и следующих букингов для списка предметов")
+    void getLastAndNextBookingsByItemIds() {
+        User owner = createUserWithoutId();
+        entityManager.persist(owner);
+        User booker = createUserTwoWithoutId();
+        entityManager.persist(booker);
+        Item item = createItemWithoutId(owner);
+        entityManager.persist(item);
+        Item item2 = createItemWithoutId2(owner);
+        entityManager.persist(item2);
+        Item itemWithoutBookings = createItemWithoutId3(owner);
+        entityManager.persist(itemWithoutBookings);
+        Booking first = createBookingWithoutId(booker, item);
+        first.setStart(LocalDateTime.now().minusDays(10));
+        first.setEnd(LocalDateTime.now().minusDays(5));
+        entityManager.persist(first);
+        Booking second = createBookingWithoutId(booker, item);
+        second.setStart(LocalDateTime.now().plusDays(5));
+        second.setEnd(LocalDateTime.now().plusDays(10));
+        entityManager.persist(second);
+        Booking single = createBookingWithoutId(booker, item2);
+        entityManager.persist(single);
+        List<Long> itemIds = List.of(item.getId(), item2.getId(), itemWithoutBookings.getId());
+
+        assertEquals(List.of(first, single), bookingRepository.findLastBookingsByItemIds(itemIds));
+        assertEquals(List.of(second, single), bookingRepository.findNextBookingsByItemIds(itemIds));
+    }
+
     @Test
     @DisplayName("DataJpaTest проверки пользования предметом другим пользователем")
     void validateForTakeItemOtherUser() {
@@ -8,8 +8,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
 import ru.practicum.shareit.booking.dto.BookingMapper;
@@ -18,20 +21,33 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.RequestClock;
 import ru.practicum.shareit.util.ValidatorServer;
 
+import javax.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTests extends StorageForTests {
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:07Z");
     private BookingServiceImpl mockBookingServiceImpl;
     @Autowired
     private BookingMapper bookingMapper;
@@ -39,6 +55,10 @@ public class BookingServiceTests extends StorageForTests {
     private BookingRepository mockBookingRepository;
     @Mock
     private ValidatorServer mockValidator;
+    @Mock
+    private ItemAvailabilityIndex mockAvailabilityIndex;
+    @Mock
+    private EntityManager mockEntityManager;
     private final User user1 = createUser();
     private final User user2 = createUserTwo();
     private final Item item1 = createItemNullRequest();
@@ -51,7 +71,9 @@ public class BookingServiceTests extends StorageForTests {
 
     @BeforeEach
     void setUp() {
-        mockBookingServiceImpl = new BookingServiceImpl(bookingMapper, mockBookingRepository, mockValidator);
+        mockBookingServiceImpl = new BookingServiceImpl(bookingMapper, mockBookingRepository, mockValidator,
+                mockAvailabilityIndex, mockEntityManager,
+                new RequestClock(Clock.fixed(NOW, ZoneOffset.UTC)), new ConcurrentMapCacheManager("bookings"));
     }
 
     @Test
@@ -72,7 +94,8 @@ public class BookingServiceTests extends StorageForTests {
         List<BookingDto> expectedCurrentBookings = getBookingList("CURRENT");
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user2);
         when(mockBookingRepository
-                .findCurrentBookingByBookerId(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                .findCurrentBookingByBookerId(anyLong(), eq(LocalDateTime.parse("2030-01-01T10:00:07")),
+                        any(Pageable.class)))
                 .thenReturn(List.of(bookingCurrent, bookingRejected));
         List<BookingDto> actualCurrentBookings = mockBookingServiceImpl
                 .getBookingsByBookerId(user2.getId(), "CURRENT", 0, 5);
@@ -208,6 +231,37 @@ public class BookingServiceTests extends StorageForTests {
         assertEquals(expectedRejectedBooking, actualRejectedBookings);
     }
 
+    @Test
+    @DisplayName("ServiceMVC Тест получения первой страницы букингов пользователя по курсору")
+    void allBookingByBookerAfterCursor() {
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user2);
+        when(mockBookingRepository.findAllByBookerIdAfterCursor(anyLong(), any(LocalDateTime.class),
+                eq(Long.MAX_VALUE), any(Pageable.class))).thenReturn(List.of(bookingPast, bookingCurrent));
+        List<BookingDto> actualBookings = mockBookingServiceImpl
+                .getBookingsByBookerIdAfterCursor(user2.getId(), "ALL", "", 2);
+        assertEquals(bookingMapper.toBookingDtoList(List.of(bookingPast, bookingCurrent)), actualBookings);
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест получения следующей страницы ожидающих букингов владельца по курсору")
+    void waitingBookingByOwnerAfterCursor() {
+        BookingCursor cursor = BookingCursor.of(bookingMapper.toBookingDto(bookingCurrent));
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user1);
+        when(mockBookingRepository.findBookingByOwnerIdAndStatusAfterCursor(user1.getId(), BookingStatus.WAITING,
+                cursor.getStart(), cursor.getId(), PageRequest.of(0, 5))).thenReturn(List.of(bookingFuture));
+        List<BookingDto> actualBookings = mockBookingServiceImpl
+                .getBookingsByOwnerIdAfterCursor(user1.getId(), "WAITING", cursor.encode(), 5);
+        assertEquals(List.of(bookingMapper.toBookingDto(bookingFuture)), actualBookings);
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест получения букингов по некорректному курсору")
+    void bookingAfterInvalidCursor() {
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user2);
+        assertThrows(ValidationException.class, () -> mockBookingServiceImpl
+                .getBookingsByBookerIdAfterCursor(user2.getId(), "ALL", "not-a-cursor", 5));
+    }
+
     @Test
     @DisplayName("ServiceMVC Тест добавления букинга предмета")
     void addBooking() {
@@ -224,6 +278,21 @@ public class BookingServiceTests extends StorageForTests {
         assertEquals(expectedBookingDto, actualBookingDto);
     }
 
+    @Test
+    @DisplayName("ServiceMVC Тест отказа в букинге занятого периода предмета")
+    void addBookingOverlapping() {
+        User user = createUserTwo();
+        Item item = createItemNullRequest();
+        BookingDtoOnlyId bookingDtoOnlyId = createBookingDtoOnlyId();
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
+        doThrow(ValidationException.class).when(mockValidator)
+                .validateBookingPeriod(item, bookingDtoOnlyId.getStart(), bookingDtoOnlyId.getEnd());
+        assertThrows(ValidationException.class, () -> mockBookingServiceImpl.addBooking(user.getId(),
+                bookingDtoOnlyId));
+        verify(mockBookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     @DisplayName("ServiceMVC Тест получение букинга предмета")
     void getBookingById() {
@@ -251,6 +320,24 @@ public class BookingServiceTests extends StorageForTests {
         assertEquals(expectedBookingDto, actualBookingDto);
     }
 
+    @Test
+    @DisplayName("ServiceMVC Тест отклонения списка букингов одной проверкой")
+    void updateStatusBookings() {
+        User user = createUser();
+        Booking booking = createBooking2();
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockValidator.validateForUpdateBookings(any(User.class), anyCollection()))
+                .thenReturn(List.of(bookingFuture, booking));
+        List<BookingDto> actualBookingDtoList = mockBookingServiceImpl
+                .updateStatusBookings(user.getId(), List.of(bookingFuture.getId(), booking.getId()), false);
+        assertEquals(2, actualBookingDtoList.size());
+        assertTrue(actualBookingDtoList.get(0).getId() < actualBookingDtoList.get(1).getId());
+        assertTrue(actualBookingDtoList.stream().allMatch(dto -> dto.getStatus() == BookingStatus.REJECTED));
+        verify(mockValidator, times(1)).validateForUpdateBookings(any(User.class), anyCollection());
+        verify(mockBookingRepository, never()).findById(anyLong());
+        verify(mockBookingRepository).saveAll(anyList());
+    }
+
     /**
      * Шаблон получения списка букинга для пользователя и владельца предмета
      *
@@ -296,4 +383,16 @@ public class BookingServiceTests extends StorageForTests {
         }
         return bookingList;
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("ServiceMVC Тест выгрузки всех бронирований вещей владельца")
+    void exportBookingsByOwner() {
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user1);
+        when(mockBookingRepository.streamAllByOwnerId(user1.getId()))
+                .thenReturn(Stream.of(bookingFuture, bookingCurrent, bookingPast));
+        List<BookingDto> exported = new ArrayList<>();
+        mockBookingServiceImpl.exportBookingsByOwnerId(user1.getId(), exported::add);
+        assertEquals(bookingMapper.toBookingDtoList(List.of(bookingFuture, bookingCurrent, bookingPast)), exported);
+        verify(mockEntityManager, never()).clear();
+    }
+}
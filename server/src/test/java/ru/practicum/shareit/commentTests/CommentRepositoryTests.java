@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -36,4 +37,42 @@ public class CommentRepositoryTests extends StorageForTests {
         assertEquals(expectedList, actualList);
         assertEquals(comment, actualList.get(0));
     }
+
+    @Test
+    @DisplayName("DataJpaTest получения комментариев о предмете в виде dto")
+    void findCommentDtosByItemId() {
+        User user = createUserWithoutId();
+        entityManager.persist(user);
+        Item item = createItemWithoutId(user);
+        entityManager.persist(item);
+        Comment comment = createCommentWithoutId(user, item);
+        entityManager.persist(comment);
+        List<CommentDto> actualList = commentRepository.findCommentDtosByItemId(item.getId());
+        assertEquals(1, actualList.size());
+        assertEquals(comment.getId(), actualList.get(0).getId());
+        assertEquals(comment.getText(), actualList.get(0).getText());
+        assertEquals(user.getName(), actualList.get(0).getAuthorName());
+    }
+
+    @Test
+    @DisplayName("DataJpaTest получения комментариев для списка предметов")
+    void getAllCommentByItemIdIn() {
+        User user = createUserWithoutId();
+        entityManager.persist(user);
+        Item item = createItemWithoutId(user);
+        entityManager.persist(item);
+        Item item2 = createItemWithoutId2(user);
+        entityManager.persist(item2);
+        Item item3 = createItemWithoutId3(user);
+        entityManager.persist(item3);
+        Comment comment = createCommentWithoutId(user, item);
+        entityManager.persist(comment);
+        Comment comment2 = createCommentWithoutId(user, item2);
+        entityManager.persist(comment2);
+        Comment comment3 = createCommentWithoutId(user, item3);
+        entityManager.persist(comment3);
+        List<Comment> actualList = commentRepository.getAllByItemIdIn(List.of(item.getId(), item2.getId()));
+        assertEquals(2, actualList.size());
+        assertTrue(actualList.containsAll(List.of(comment, comment2)));
+    }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import ru.practicum.shareit.util.ValidatorServer;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -46,14 +47,25 @@ public class CommentServiceTests extends StorageForTests {
     @DisplayName("ServiceMVC тест получения комментариев по ItemId")
     void getCommentsByItemId() {
         Item item = createItemNullRequest();
-        Comment comment = createComment();
         CommentDto commentDto = createCommentDto2();
         List<CommentDto> expectedCommentDto = List.of(commentDto);
-        when(mockCommentRepository.getAllByItemId(anyLong())).thenReturn(List.of(comment));
+        when(mockCommentRepository.findCommentDtosByItemId(anyLong())).thenReturn(List.of(commentDto));
         List<CommentDto> actualCommentDto = mockCommentServiceImpl.getCommentsByItemId(item.getId());
         assertEquals(expectedCommentDto, actualCommentDto);
     }
 
+    @Test
+    @DisplayName("ServiceMVC тест получения комментариев, сгруппированных по ItemId")
+    void getCommentsByItemIds() {
+        Item item = createItemNullRequest();
+        Comment comment = createComment();
+        CommentDto commentDto = createCommentDto2();
+        Map<Long, List<CommentDto>> expectedComments = Map.of(item.getId(), List.of(commentDto));
+        when(mockCommentRepository.getAllByItemIdIn(List.of(item.getId()))).thenReturn(List.of(comment));
+        Map<Long, List<CommentDto>> actualComments = mockCommentServiceImpl.getCommentsByItemIds(List.of(item.getId()));
+        assertEquals(expectedComments, actualComments);
+    }
+
     @Test
     @DisplayName("ServiceMVC тест создания комментаря для предмета")
     void addCommentForItem() {
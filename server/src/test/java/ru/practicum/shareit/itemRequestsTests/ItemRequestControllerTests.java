@@ -3,6 +3,7 @@ package ru.practicum.shareit.itemRequestsTests;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -100,6 +101,25 @@ public class ItemRequestControllerTests extends StorageForTests {
                 .andExpect(jsonPath("$[0].items", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("ControllerMVC Тест получения страницы запросов пользователя на предмет")
+    void getOwnRequestsWithPage() throws Exception {
+        ItemRequestWithItemDto expectedRequest = createRequestWithItemDto();
+        when(itemRequestService.getOwnRequests(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(expectedRequest));
+
+        mvc.perform(get("/requests")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER, 1L)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(expectedRequest.getId()), Long.class));
+        Mockito.verify(itemRequestService).getOwnRequests(1L, 0, 5);
+    }
+
     @Test
     @DisplayName("ControllerMVC Тест получения запроса на предмет")
     void getRequest() throws Exception {
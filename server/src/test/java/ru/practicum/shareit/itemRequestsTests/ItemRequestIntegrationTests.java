@@ -8,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.controller.ItemRequestController;
@@ -20,6 +21,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -48,8 +50,9 @@ public class ItemRequestIntegrationTests extends StorageForTests {
         UserDto userDto = userService.addNewUser(user1);
         UserDto userDto1 = userService.addNewUser(user2);
         ItemRequestDto expectedRequestDto = controller.addNewItemRequest(userDto.getId(), request);
+        item1.setRequestId(expectedRequestDto.getId());
         ItemDto itemDto = itemService.addItem(userDto1.getId(), item1);
-        List<ItemRequestWithItemDto> actualRequestDto = controller.getOwnRequests(userDto.getId());
+        List<ItemRequestWithItemDto> actualRequestDto = controller.getOwnRequests(userDto.getId(), null, null);
         assertEquals(expectedRequestDto.getId(), actualRequestDto.get(0).getId());
         assertEquals(itemDto.getId(), actualRequestDto.get(0).getItems().get(0).getId());
     }
@@ -68,6 +71,27 @@ public class ItemRequestIntegrationTests extends StorageForTests {
         assertEquals(expectedRequestDto2.getId(), actualRequestList.get(1).getId());
     }
 
+    @Test
+    @DisplayName("Интеграционный Тест получения страниц запросов по индексу первого элемента")
+    void getRequestsPage() {
+        UserDto userDto1 = userService.addNewUser(user1);
+        UserDto userDto2 = userService.addNewUser(user2);
+        for (int i = 0; i < 3; i++) {
+            controller.addNewItemRequest(userDto1.getId(), request);
+        }
+        assertEquals(1, controller.getAllRequests(userDto2.getId(), 2, 2).size());
+        assertEquals(1, controller.getOwnRequests(userDto1.getId(), 2, 2).size());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест получения запросов со страницей нулевого размера")
+    void getRequestsEmptyPage() {
+        UserDto userDto = userService.addNewUser(user1);
+        assertThrows(ValidationException.class, () -> controller.getAllRequests(userDto.getId(), 0, 0));
+        assertThrows(ValidationException.class, () -> controller.getOwnRequests(userDto.getId(), 0, 0));
+        assertThrows(ValidationException.class, () -> controller.getAllRequests(userDto.getId(), -1, 5));
+    }
+
     @Test
     @DisplayName("Интеграционный Тест добавления запроса на предмет")
     void addNewItemRequest() {
@@ -83,7 +107,7 @@ public class ItemRequestIntegrationTests extends StorageForTests {
         UserDto userDto1 = userService.addNewUser(user2);
         ItemRequestDto expectedRequestDto = controller.addNewItemRequest(userDto.getId(), request);
         ItemRequestWithItemDto actualRequestDto = controller
-                .getRequest(userDto1.getId(), expectedRequestDto.getId());
+                .getRequest(userDto1.getId(), expectedRequestDto.getId(), createWebRequest());
         assertEquals(expectedRequestDto.getId(), actualRequestDto.getId());
     }
 }
\ No newline at end of file
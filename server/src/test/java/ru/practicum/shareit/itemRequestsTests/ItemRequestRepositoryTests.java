@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.StorageForTests;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -37,6 +38,38 @@ public class ItemRequestRepositoryTests extends StorageForTests {
         assertEquals(itemRequest, actualResult.get(0));
     }
 
+    @Test
+    @DisplayName("DataJpaTest получения списка запросов предметов пользователя от новых к старым")
+    void findAllByRequesterIdOrderByCreated() {
+        User user = createUserWithoutId();
+        entityManager.persist(user);
+        ItemRequest itemRequest = createRequestWithoutId();
+        itemRequest.setRequester(user);
+        entityManager.persist(itemRequest);
+        ItemRequest itemRequest2 = createRequestWithoutId();
+        itemRequest2.setRequester(user);
+        itemRequest2.setCreated(itemRequest.getCreated().plusDays(1));
+        entityManager.persist(itemRequest2);
+        assertEquals(List.of(itemRequest2, itemRequest), itemRequestRepository.findAllByRequesterId(user.getId()));
+    }
+
+    @Test
+    @DisplayName("DataJpaTest получения страницы запросов предметов пользователя")
+    void findAllByRequesterIdWithPage() {
+        User user = createUserWithoutId();
+        entityManager.persist(user);
+        ItemRequest itemRequest = createRequestWithoutId();
+        itemRequest.setRequester(user);
+        entityManager.persist(itemRequest);
+        ItemRequest itemRequest2 = createRequestWithoutId();
+        itemRequest2.setRequester(user);
+        itemRequest2.setCreated(itemRequest.getCreated().plusDays(1));
+        entityManager.persist(itemRequest2);
+        PageRequest pr = PageRequest.of(0, 1, Sort.by("created").descending());
+        List<ItemRequest> actualResult = itemRequestRepository.findAllByRequesterId(user.getId(), pr);
+        assertEquals(List.of(itemRequest2), actualResult);
+    }
+
     @Test
     @DisplayName("DataJpaTest получения списка запросов предмета без запросов пользователя")
     void findAllByRequesterIdIsNot() {
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -65,12 +66,40 @@ public class ItemRequestServiceTests extends StorageForTests {
         List<ItemRequestWithItemDto> expectedRequest = List.of(itemRequestWithItemDto);
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
         when(mockRequestRepository.findAllByRequesterId(anyLong())).thenReturn(List.of(itemRequest));
-        when(mockItemRepository.findByRequestId(anyLong())).thenReturn(List.of(item));
+        when(mockItemRepository.findByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of(item));
         List<ItemRequestWithItemDto> actualRequest = mockItemRequestService.getOwnRequests(user.getId());
         assertEquals(expectedRequest, actualRequest);
         assertEquals(itemDto, actualRequest.get(0).getItems().get(0));
     }
 
+    @Test
+    @DisplayName("ServiceMVC Тест получения страницы запросов пользователя со списком предметов")
+    void getOwnRequestsWithPage() {
+        User user = createUser();
+        Item item = createItemWithRequest();
+        ItemRequest itemRequest = createRequest();
+        itemRequest.setRequester(user);
+        ItemRequestWithItemDto itemRequestWithItemDto = createRequestWithItemDto();
+        itemRequestWithItemDto.setItems(List.of(createItemDtoWithRequestId()));
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockRequestRepository.findAllByRequesterId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
+        when(mockItemRepository.findByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of(item));
+        List<ItemRequestWithItemDto> actualRequest = mockItemRequestService.getOwnRequests(user.getId(), 0, 5);
+        assertEquals(List.of(itemRequestWithItemDto), actualRequest);
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест получения пустого списка запросов пользователя")
+    void getOwnRequestsEmpty() {
+        User user = createUser();
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockRequestRepository.findAllByRequesterId(anyLong())).thenReturn(List.of());
+        List<ItemRequestWithItemDto> actualRequest = mockItemRequestService.getOwnRequests(user.getId());
+        assertEquals(List.of(), actualRequest);
+        Mockito.verifyNoInteractions(mockItemRepository);
+    }
+
     @Test
     @DisplayName("ServiceMVC Тест получения всех запросов со списком предметов")
     void getAllRequests() {
@@ -84,7 +113,7 @@ public class ItemRequestServiceTests extends StorageForTests {
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
         when(mockRequestRepository.findAllByRequesterIdIsNot(anyLong(),
                 any(Pageable.class))).thenReturn(List.of(itemRequest));
-        when(mockItemRepository.findByRequestId(anyLong())).thenReturn(List.of(item));
+        when(mockItemRepository.findByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of(item));
         List<ItemRequestWithItemDto> actualRequest = mockItemRequestService
                 .getAllRequests(user.getId(), 0, 5);
         assertEquals(expectedRequest, actualRequest);
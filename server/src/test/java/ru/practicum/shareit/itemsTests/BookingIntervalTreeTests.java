@@ -0,0 +1,106 @@
+package ru.practicum.shareit.itemsTests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.availability.BookingIntervalTree;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalTreeTests {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Тест поиска бронирований, пересекающих период, в дереве интервалов")
+    void overlapping() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, hour(0), hour(2));
+        tree.put(2L, hour(4), hour(6));
+        tree.put(3L, hour(5), hour(10));
+        assertTrue(tree.overlaps(hour(1), hour(3)));
+        assertFalse(tree.overlaps(hour(2), hour(4)));
+        assertTrue(tree.overlaps(hour(9), hour(12)));
+        assertFalse(tree.overlaps(hour(10), hour(12)));
+        assertEquals(List.of(2L, 3L), ids(tree.overlapping(hour(2), hour(6))));
+        assertEquals(List.of(1L, 2L, 3L), ids(tree.overlapping(hour(-1), hour(11))));
+        assertEquals(List.of(), ids(tree.overlapping(hour(10), hour(11))));
+    }
+
+    @Test
+    @DisplayName("Тест удаления и замены бронирований в дереве интервалов")
+    void putAndRemove() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, hour(0), hour(2));
+        tree.put(1L, hour(3), hour(4));
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(hour(0), hour(2)));
+        assertTrue(tree.overlaps(hour(3), hour(4)));
+        tree.remove(1L);
+        tree.remove(2L);
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.overlaps(hour(0), hour(10)));
+    }
+
+    @Test
+    @DisplayName("Тест удаления закончившихся бронирований из дерева интервалов")
+    void removeEndedBy() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, hour(0), hour(2));
+        tree.put(2L, hour(1), hour(4));
+        tree.put(3L, hour(3), hour(5));
+        assertEquals(2, tree.removeEndedBy(hour(4)));
+        assertEquals(List.of(3L), ids(tree.overlapping(hour(0), hour(10))));
+        assertEquals(0, tree.removeEndedBy(hour(4)));
+        assertEquals(1, tree.removeEndedBy(hour(5)));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест дерева интервалов на случайных бронированиях в сравнении с полным перебором")
+    void randomAgainstBruteForce() {
+        Random random = new Random(17);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        Map<Long, BookingIntervalTree.Interval> expected = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            long bookingId = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                tree.remove(bookingId);
+                expected.remove(bookingId);
+            } else {
+                LocalDateTime start = hour(random.nextInt(1000));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(50));
+                tree.put(bookingId, start, end);
+                expected.put(bookingId, new BookingIntervalTree.Interval(bookingId, start, end));
+            }
+            LocalDateTime from = hour(random.nextInt(1000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(30));
+            List<Long> overlapping = expected.values().stream()
+                    .filter(interval -> interval.getStart().isBefore(to) && interval.getEnd().isAfter(from))
+                    .sorted(Comparator.comparing(BookingIntervalTree.Interval::getStart)
+                            .thenComparing(BookingIntervalTree.Interval::getBookingId))
+                    .map(BookingIntervalTree.Interval::getBookingId)
+                    .collect(Collectors.toList());
+            assertEquals(overlapping, ids(tree.overlapping(from, to)));
+            assertEquals(!overlapping.isEmpty(), tree.overlaps(from, to));
+            assertEquals(expected.size(), tree.size());
+        }
+    }
+
+    private static LocalDateTime hour(int hours) {
+        return START.plusHours(hours);
+    }
+
+    private static List<Long> ids(List<BookingIntervalTree.Interval> intervals) {
+        List<Long> ids = new ArrayList<>();
+        intervals.forEach(interval -> ids.add(interval.getBookingId()));
+        return ids;
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.itemsTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.BookingIntervalTree;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemAvailabilityIntegrationTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private final MockMvc mvc;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+        booker = userRepository.save(createUserTwoWithoutId());
+        item = itemRepository.save(createItemWithoutId(owner));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест календаря занятости после добавления, подтверждения и отклонения бронирований")
+    void availabilityAfterBookings() {
+        BookingDto first = book(hour(1), hour(3));
+        BookingDto second = book(hour(5), hour(6));
+        bookingService.updateStatusBooking(owner.getId(), first.getId(), true);
+        ItemAvailabilityDto availability = itemService.getItemAvailability(booker.getId(), item.getId(),
+                hour(0), hour(8));
+        assertFalse(availability.isAvailable());
+        assertEquals(List.of(new PeriodDto(hour(1), hour(3)), new PeriodDto(hour(5), hour(6))),
+                availability.getBusy());
+        assertEquals(List.of(new PeriodDto(hour(0), hour(1)), new PeriodDto(hour(3), hour(5)),
+                new PeriodDto(hour(6), hour(8))), availability.getFree());
+        assertTrue(itemService.getItemAvailability(booker.getId(), item.getId(), hour(3), hour(5)).isAvailable());
+
+        bookingService.updateStatusBooking(owner.getId(), second.getId(), false);
+        availability = itemService.getItemAvailability(booker.getId(), item.getId(), hour(2), hour(8));
+        assertEquals(List.of(new PeriodDto(hour(1), hour(3))), availability.getBusy());
+        assertEquals(List.of(new PeriodDto(hour(3), hour(8))), availability.getFree());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест: вещь, недоступная для аренды, не имеет свободных промежутков")
+    void unavailableItem() {
+        ItemDto update = new ItemDto();
+        update.setAvailable(false);
+        itemService.updateItem(owner.getId(), item.getId(), update);
+        ItemAvailabilityDto availability = itemService.getItemAvailability(booker.getId(), item.getId(),
+                hour(0), hour(8));
+        assertFalse(availability.isAvailable());
+        assertEquals(List.of(), availability.getBusy());
+        assertEquals(List.of(), availability.getFree());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест построения календаря занятости по бронированиям в базе")
+    void rebuild() {
+        bookingRepository.save(makeBooking(hour(1), hour(2), BookingStatus.APPROVED));
+        bookingRepository.save(makeBooking(hour(2), hour(4), BookingStatus.REJECTED));
+        bookingRepository.save(makeBooking(hour(4), hour(5), BookingStatus.WAITING));
+        bookingRepository.save(makeBooking(hour(-72), hour(-48), BookingStatus.APPROVED));
+        assertTrue(availabilityIndex.isFree(item.getId(), hour(0), hour(8)));
+        availabilityIndex.rebuild();
+        ItemAvailabilityDto availability = itemService.getItemAvailability(owner.getId(), item.getId(),
+                hour(0), hour(8));
+        assertEquals(List.of(new PeriodDto(hour(1), hour(2)), new PeriodDto(hour(4), hour(5))),
+                availability.getBusy());
+        assertTrue(availabilityIndex.isFree(item.getId(), hour(-72), hour(-48)));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест удаления закончившихся бронирований из календаря занятости")
+    void removeEnded() {
+        book(hour(1), hour(3));
+        book(hour(5), hour(6));
+        availabilityIndex.removeEndedBy(hour(3));
+        assertEquals(List.of(hour(5)), availabilityIndex.getBusyPeriods(item.getId(), hour(0), hour(8)).stream()
+                .map(BookingIntervalTree.Interval::getStart)
+                .collect(Collectors.toList()));
+        availabilityIndex.removeEndedBy(hour(6));
+        assertTrue(availabilityIndex.isFree(item.getId(), hour(0), hour(8)));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест проверки периода календаря занятости")
+    void invalidPeriod() {
+        assertThrows(ValidationException.class, () ->
+                itemService.getItemAvailability(booker.getId(), item.getId(), hour(2), hour(2)));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест запроса календаря занятости по http")
+    void availabilityEndpoint() throws Exception {
+        book(hour(1), hour(3));
+        mvc.perform(get("/items/{itemId}/availability", item.getId()).header(HEADER, booker.getId())
+                        .param("start", hour(0).toString())
+                        .param("end", hour(4).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$.available", is(false)))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.free", hasSize(2)));
+        mvc.perform(get("/items/{itemId}/availability", item.getId()).header(HEADER, booker.getId())
+                        .param("start", hour(4).toString())
+                        .param("end", hour(0).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private BookingDto book(LocalDateTime from, LocalDateTime to) {
+        BookingDtoOnlyId bookingDto = new BookingDtoOnlyId();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(from);
+        bookingDto.setEnd(to);
+        return bookingService.addBooking(booker.getId(), bookingDto);
+    }
+
+    private Booking makeBooking(LocalDateTime from, LocalDateTime to, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(from);
+        booking.setEnd(to);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private LocalDateTime hour(int hours) {
+        return start.plusHours(hours);
+    }
+}
@@ -7,27 +7,42 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.StorageForTests;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +53,8 @@ class ItemControllerTests extends StorageForTests {
     private ItemService itemService;
     @MockBean
     private CommentService commentService;
+    @MockBean
+    private ItemImportService itemImportService;
 
     @Autowired
     private final ObjectMapper mapper = new ObjectMapper();
@@ -181,6 +198,42 @@ class ItemControllerTests extends StorageForTests {
                 .andExpect(jsonPath("$.created", is(commentDto.getCreated().toString())));
     }
 
+    @Test
+    @DisplayName("ControllerMVC Тест ответа 304 без сборки dto при совпадении ETag предмета")
+    void findItemByIdNotModified() throws Exception {
+        when(itemService.getItemEtag(anyLong(), anyLong())).thenReturn("i1-0-c0-0-0");
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(HEADER, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"i1-0-c0-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"i1-0-c0-0-0\""));
+        verify(itemService, never()).findItemOwnerDtoById(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест получения календаря занятости предмета")
+    void findItemAvailability() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusHours(4);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, start, end, false,
+                List.of(new PeriodDto(start.plusHours(1), start.plusHours(2))),
+                List.of(new PeriodDto(start, start.plusHours(1)), new PeriodDto(start.plusHours(2), end)));
+        when(itemService.getItemAvailability(1L, 1L, start, end)).thenReturn(availability);
+
+        mvc.perform(get("/items/{itemId}/availability", 1L)
+                        .header(HEADER, 1L)
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-01T14:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available", is(false)))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-01T11:00:00")))
+                .andExpect(jsonPath("$.free", hasSize(2)))
+                .andExpect(jsonPath("$.free[1].end", is("2030-01-01T14:00:00")));
+    }
+
     @Test
     @DisplayName("ControllerMVC Тест выдачи ошибки при обновлении предмета по неверному ItemId")
     void updateItemTestWithIncorrectId() throws Exception {
@@ -194,4 +247,39 @@ class ItemControllerTests extends StorageForTests {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("ControllerMVC Тест импорта предметов с результатами в NDJSON")
+    @SuppressWarnings("unchecked")
+    void importItems() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<List<ItemImportResultDto>> results = invocation.getArgument(2);
+            results.accept(List.of(new ItemImportResultDto(1, 10L, null),
+                    new ItemImportResultDto(2, null, "имя предмета не должно быть пустым!")));
+            return null;
+        }).when(itemImportService).importItems(eq(1L), any(), any(Consumer.class));
+
+        mvc.perform(post("/items/import")
+                        .header(HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"line\":1,\"id\":10}\n"
+                        + "{\"line\":2,\"error\":\"имя предмета не должно быть пустым!\"}\n"));
+    }
+
+    @Test
+    @DisplayName("ControllerMVC Тест выдачи ошибки при импорте предметов неизвестным пользователем")
+    @SuppressWarnings("unchecked")
+    void importItemsWithUnknownUser() throws Exception {
+        doThrow(new UserNotFoundException("пользователь не найден"))
+                .when(itemImportService).importItems(eq(99L), any(), any(Consumer.class));
+
+        mvc.perform(post("/items/import")
+                        .header(HEADER, 99L)
+                        .contentType(ItemImportFormat.CSV_VALUE)
+                        .content("name,description,available\nДрель,Ударная,true\n"))
+                .andExpect(status().isNotFound());
+    }
+}
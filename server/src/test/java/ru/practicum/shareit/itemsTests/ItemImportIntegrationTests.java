@@ -0,0 +1,139 @@
+package ru.practicum.shareit.itemsTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportIntegrationTests extends StorageForTests {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 1234;
+    private final MockMvc mvc;
+    private final ObjectMapper objectMapper;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUserWithoutId());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест импорта предметов из NDJSON несколькими пакетами")
+    void importNdjson() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= ITEMS; i++) {
+            body.append(String.format("{\"name\":\"Предмет %d\",\"description\":\"Описание %d\",\"available\":true}%n",
+                    i, i));
+        }
+        List<ItemImportResultDto> results = importItems(MediaType.APPLICATION_NDJSON_VALUE, body.toString());
+        assertEquals(ITEMS, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getId() != null && result.getError() == null));
+        assertEquals(ITEMS, new HashSet<>(results.stream().map(ItemImportResultDto::getId)
+                .collect(Collectors.toList())).size());
+        assertEquals(ITEMS, itemRepository.count());
+        Item last = itemRepository.findById(results.get(ITEMS - 1).getId()).orElseThrow();
+        assertEquals("Предмет " + ITEMS, last.getName());
+        assertEquals(owner.getId(), last.getOwner().getId());
+
+        ItemDto added = itemService.addItem(owner.getId(), createItemDtoNullRequestAndId());
+        assertFalse(results.stream().anyMatch(result -> result.getId() == added.getId()));
+        assertEquals(List.of(last.getId()), itemService.findItemsByText("предмет " + ITEMS, 0, 10).stream()
+                .map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест импорта предметов из CSV с ошибками в отдельных строках")
+    void importCsvWithErrors() throws Exception {
+        ItemRequest request = itemRequestRepository.save(makeRequest());
+        String body = "name,description,available,requestId\n"
+                + "Дрель,\"Ударная, 800 Вт\",true," + request.getId() + "\n"
+                + ",Без названия,true,\n"
+                + "Пила,Ножовка,,\n"
+                + "Отвертка,Крестовая,false,999\n"
+                + "Молоток,\"Без ручки\n"
+                + "Рубанок,Ручной,false,\n";
+        List<ItemImportResultDto> results = importItems(ItemImportFormat.CSV_VALUE, body);
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L), results.stream().map(ItemImportResultDto::getLine)
+                .collect(Collectors.toList()));
+        assertNotNull(results.get(0).getId());
+        assertNull(results.get(0).getError());
+        assertEquals("имя предмета не должно быть пустым!", results.get(1).getError());
+        assertEquals("доступность предмета не должна быть отсутствует!", results.get(2).getError());
+        assertEquals("запрос предмета с id '999' не найден в списке запросов!", results.get(3).getError());
+        assertNotNull(results.get(4).getError());
+        assertNotNull(results.get(5).getId());
+        assertEquals(2, itemRepository.count());
+        Item drill = itemRepository.findById(results.get(0).getId()).orElseThrow();
+        assertEquals("Ударная, 800 Вт", drill.getDescription());
+        assertEquals(request.getId(), drill.getRequestId());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест ошибок импорта предметов до начала ответа")
+    void importErrors() throws Exception {
+        mvc.perform(post("/items/import").header(HEADER, 99L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}\n"))
+                .andExpect(status().isNotFound());
+        mvc.perform(post("/items/import").header(HEADER, owner.getId())
+                        .contentType(ItemImportFormat.CSV_VALUE)
+                        .content("name,available\nДрель,true\n"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, itemRepository.count());
+    }
+
+    private List<ItemImportResultDto> importItems(String contentType, String body) throws Exception {
+        String response = mvc.perform(post("/items/import").header(HEADER, owner.getId())
+                        .contentType(contentType)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<ItemImportResultDto> results = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResultDto.class));
+        }
+        return results;
+    }
+
+    private ItemRequest makeRequest() {
+        ItemRequest request = createRequestWithoutId();
+        request.setRequester(owner);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.itemsTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemImportReader;
+import ru.practicum.shareit.item.imports.ItemImportRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportReaderTests {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Тест чтения предметов из NDJSON с пропуском пустых строк")
+    void readNdjson() throws IOException {
+        List<ItemImportRecord> records = read(ItemImportFormat.NDJSON,
+                "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true,\"requestId\":3}\n"
+                        + "\n"
+                        + "{\"name\":\"Пила\"\n");
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).getLine());
+        assertEquals("Дрель", records.get(0).getItem().getName());
+        assertEquals(3L, records.get(0).getItem().getRequestId());
+        assertNull(records.get(0).getError());
+        assertEquals(3, records.get(1).getLine());
+        assertNull(records.get(1).getItem());
+        assertNotNull(records.get(1).getError());
+    }
+
+    @Test
+    @DisplayName("Тест чтения предметов из CSV с кавычками и колонками в произвольном порядке")
+    void readCsv() throws IOException {
+        List<ItemImportRecord> records = read(ItemImportFormat.CSV,
+                "available,name,description,requestId\r\n"
+                        + "true,Дрель,\"Ударная, с \"\"патроном\"\"\",\n"
+                        + "да,Пила,Ножовка,\n"
+                        + "false,Отвертка,Крестовая,x\n"
+                        + "TRUE,Молоток,\"Без ручки\n");
+        assertEquals(4, records.size());
+        assertEquals("Ударная, с \"патроном\"", records.get(0).getItem().getDescription());
+        assertTrue(records.get(0).getItem().getAvailable());
+        assertNull(records.get(0).getItem().getRequestId());
+        assertEquals(2, records.get(0).getLine());
+        assertNotNull(records.get(1).getError());
+        assertNotNull(records.get(2).getError());
+        assertNotNull(records.get(3).getError());
+    }
+
+    @Test
+    @DisplayName("Тест ошибки заголовка CSV без обязательной колонки")
+    void csvWithoutRequiredColumn() {
+        assertThrows(ValidationException.class, () -> read(ItemImportFormat.CSV, "name,available\nДрель,true\n"));
+    }
+
+    private List<ItemImportRecord> read(ItemImportFormat format, String text) throws IOException {
+        ItemImportReader reader = new ItemImportReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, format, objectMapper);
+        List<ItemImportRecord> records = new ArrayList<>();
+        ItemImportRecord record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.itemsTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Импорт через настоящий сервер и цепочку фильтров: результаты первого пакета должны прийти клиенту,
+ * пока остаток файла еще не отправлен. Тело запроса передается частями по соединению без закрытия,
+ * если ответ буферизуется, чтение первого пакета завершается по таймауту сокета
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportStreamingTests extends StorageForTests {
+    private static final int BATCH_SIZE = 500;
+    private static final int ITEMS = 3 * BATCH_SIZE;
+    private static final int TIMEOUT_MILLIS = 10_000;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Интеграционный Тест: результаты первого пакета импорта приходят до конца загрузки файла")
+    void firstBatchBeforeUploadEnds() throws Exception {
+        User owner = userRepository.save(createUserWithoutId());
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            out.write(("POST /items/import HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "X-Sharer-User-Id: " + owner.getId() + "\r\n"
+                    + "Content-Type: application/x-ndjson\r\n"
+                    + "Transfer-Encoding: chunked\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            writeChunk(out, lines(1, BATCH_SIZE + 10));
+            StringBuilder response = new StringBuilder();
+            readUntil(in, response, "{\"line\":" + BATCH_SIZE + ",");
+            assertEquals(BATCH_SIZE, itemRepository.count());
+
+            writeChunk(out, lines(BATCH_SIZE + 11, ITEMS));
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            readUntil(in, response, "{\"line\":" + ITEMS + ",");
+            assertTrue(response.toString().startsWith("HTTP/1.1 200"), response.substring(0, 100));
+            assertEquals(ITEMS, itemRepository.count());
+        }
+    }
+
+    private String lines(int from, int to) {
+        StringBuilder body = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            body.append(String.format("{\"name\":\"item%d\",\"description\":\"description\",\"available\":true}\n",
+                    i));
+        }
+        return body.toString();
+    }
+
+    private void writeChunk(OutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.write((Integer.toHexString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(bytes);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void readUntil(InputStream in, StringBuilder response, String marker) throws IOException {
+        while (response.indexOf(marker) < 0) {
+            int next = in.read();
+            if (next < 0) {
+                throw new IOException("ответ закончился без " + marker + ": " + response);
+            }
+            response.append((char) next);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.StorageForTests;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyId;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.ValidatorServer;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +33,8 @@ public class ItemIntegrationTests extends StorageForTests {
     private final UserService userService;
     private final ItemController itemController;
     private final BookingService bookingService;
+    private final ValidatorServer validator;
+    private final CacheManager cacheManager;
     private final UserDto user1 = createUserDtoWithoutId();
     private final UserDto user2 = createUserDtoTwoWithoutId();
     private final ItemDto item1 = createItemDtoNullRequestAndId();
@@ -48,7 +53,8 @@ public class ItemIntegrationTests extends StorageForTests {
     void addNewItemAndFindItemById() {
         UserDto userDto = userService.addNewUser(user1);
         ItemDto itemDto = itemController.addNewItem(userDto.getId(), item1);
-        assertEquals(itemDto.getId(), itemController.findItemById(itemDto.getId(), userDto.getId()).getId());
+        assertEquals(itemDto.getId(),
+                itemController.findItemById(itemDto.getId(), userDto.getId(), createWebRequest()).getId());
     }
 
     @Test
@@ -63,6 +69,24 @@ public class ItemIntegrationTests extends StorageForTests {
         assertEquals(item2.getDescription(), actualItemDto.getDescription());
     }
 
+    @Test
+    @DisplayName("Интеграционный Тест кэширования предмета и сброса кэша при редактировании и удалении")
+    void itemCache() {
+        UserDto userDto = userService.addNewUser(user1);
+        ItemDto itemDto = itemController.addNewItem(userDto.getId(), item1);
+        Cache items = cacheManager.getCache("items");
+        assertNotNull(items);
+        assertSame(validator.validateAndReturnItemByItemId(itemDto.getId()),
+                validator.validateAndReturnItemByItemId(itemDto.getId()));
+        assertNotNull(items.get(itemDto.getId()));
+        itemDto.setName(item2.getName());
+        itemController.updateItem(userDto.getId(), itemDto, itemDto.getId());
+        assertNull(items.get(itemDto.getId()));
+        assertEquals(item2.getName(), validator.validateAndReturnItemByItemId(itemDto.getId()).getName());
+        itemController.deleteItem(userDto.getId(), itemDto.getId());
+        assertNull(items.get(itemDto.getId()));
+    }
+
     @Test
     @DisplayName("Интеграционный Тест получения всех предметов пользователя")
     void findAllByUserId() {
@@ -104,7 +128,7 @@ public class ItemIntegrationTests extends StorageForTests {
         TimeUnit.SECONDS.sleep(2);
         commentDto.setCreated(LocalDateTime.now());
         CommentDto expectedCommentDto = itemController.addComment(booker.getId(), item.getId(), commentDto);
-        ItemOwnerDto actualItemDto = itemController.findItemById(owner.getId(), item.getId());
+        ItemOwnerDto actualItemDto = itemController.findItemById(owner.getId(), item.getId(), createWebRequest());
         assertEquals(item.getId(), actualItemDto.getId());
         assertEquals(expectedCommentDto.getId(), actualItemDto.getComments().get(0).getId());
     }
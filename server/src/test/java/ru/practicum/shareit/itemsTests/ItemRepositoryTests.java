@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.StorageForTests;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -16,6 +17,8 @@ import ru.practicum.shareit.user.model.User;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -40,7 +43,7 @@ public class ItemRepositoryTests extends StorageForTests {
         entityManager.persist(item5);
         PageRequest pr = PageRequest.of(0, 20);
         List<Item> items = itemRepository.searchItemByNameAndDesc("Магни", pr);
-        assertThat(items).hasSize(4).contains(item1, item2, item3, item5);
+        assertThat(items).containsExactly(item1, item3, item5);
     }
 
     @Test
@@ -90,6 +93,44 @@ public class ItemRepositoryTests extends StorageForTests {
         assertThat(items).hasSize(3).contains(item1, item3, item5);
     }
 
+    @Test
+    @DisplayName("Получение списка предметов для нескольких запросов")
+    void getItemsByRequestIdIn() {
+        User user1 = createUserWithoutId();
+        entityManager.persist(user1);
+        ItemRequest itemRequest = createRequestWithoutId();
+        itemRequest.setRequester(user1);
+        entityManager.persist(itemRequest);
+        ItemRequest itemRequest2 = createRequestWithoutId();
+        itemRequest2.setRequester(user1);
+        entityManager.persist(itemRequest2);
+        Item item1 = makeItemWithRequestId("Магнит", "сувенир", user1, itemRequest.getId());
+        entityManager.persist(item1);
+        Item item2 = makeItem("Магний", "сувенир2", false, user1);
+        entityManager.persist(item2);
+        Item item3 = makeItemWithRequestId("магнитуда", "сувенир3", user1, itemRequest2.getId());
+        entityManager.persist(item3);
+        List<Item> items = itemRepository.findByRequestIdIn(List.of(itemRequest.getId(), itemRequest2.getId()));
+        assertThat(items).hasSize(2).contains(item1, item3);
+    }
+
+    @Test
+    @DisplayName("Сохранение предмета, прочитанного до параллельного изменения")
+    void saveStaleItem() {
+        User user = entityManager.persist(createUserWithoutId());
+        long itemId = entityManager.persistAndGetId(makeItem("Магнит", "сувенир", true, user), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        Item stale = itemRepository.findById(itemId).orElseThrow();
+        entityManager.detach(stale);
+        Item current = itemRepository.findById(itemId).orElseThrow();
+        current.setName("Магнитик");
+        itemRepository.saveAndFlush(current);
+        assertEquals(1, current.getVersion());
+        stale.setDescription("сувенир2");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(stale));
+    }
+
     private Item makeItem(String name, String description, Boolean available, User user) {
         Item item = new Item();
         item.setName(name);
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.itemsTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSearchIntegrationTests extends StorageForTests {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final InMemoryItemSearchEngine searchEngine;
+    private final UserDto user1 = createUserDtoWithoutId();
+    private final ItemDto item1 = createItemDtoNullRequestAndId();
+    private final ItemDto item2 = createItemDtoNullRequestAndIdTwo();
+
+    @Test
+    @DisplayName("Интеграционный Тест поиска по индексу в памяти после добавления предметов")
+    void searchAfterAdd() {
+        UserDto userDto = userService.addNewUser(user1);
+        ItemDto itemDto1 = itemService.addItem(userDto.getId(), item1);
+        ItemDto itemDto2 = itemService.addItem(userDto.getId(), item2);
+        assertEquals(List.of(itemDto1.getId(), itemDto2.getId()), findIds("nameitem", 0, 5));
+        assertEquals(List.of(itemDto2.getId()), findIds("ITEMTWO", 0, 5));
+        assertEquals(List.of(itemDto2.getId()), findIds("it", 1, 1));
+        assertEquals(List.of(), findIds("нет такого", 0, 5));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест обновления индекса в памяти при изменении и удалении предметов")
+    void searchAfterUpdateAndDelete() {
+        UserDto userDto = userService.addNewUser(user1);
+        ItemDto itemDto1 = itemService.addItem(userDto.getId(), item1);
+        ItemDto itemDto2 = itemService.addItem(userDto.getId(), item2);
+        ItemDto update = new ItemDto();
+        update.setName("Дрель");
+        itemService.updateItem(userDto.getId(), itemDto1.getId(), update);
+        assertEquals(List.of(itemDto2.getId()), findIds("NameItem", 0, 5));
+        assertEquals(List.of(itemDto1.getId()), findIds("дрел", 0, 5));
+        update = new ItemDto();
+        update.setAvailable(false);
+        itemService.updateItem(userDto.getId(), itemDto1.getId(), update);
+        assertEquals(List.of(), findIds("дрел", 0, 5));
+        itemService.deleteItemById(userDto.getId(), itemDto2.getId());
+        assertEquals(List.of(), findIds("NameItem", 0, 5));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест построения индекса в памяти по уже сохраненным предметам")
+    void rebuild() {
+        UserDto userDto = userService.addNewUser(user1);
+        ItemDto itemDto1 = itemService.addItem(userDto.getId(), item1);
+        searchEngine.rebuild();
+        assertEquals(List.of(itemDto1.getId()), findIds("description", 0, 5));
+    }
+
+    private List<Long> findIds(String text, int from, int size) {
+        return itemService.findItemsByText(text, from, size).stream()
+                .map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
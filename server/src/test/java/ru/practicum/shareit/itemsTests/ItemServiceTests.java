@@ -16,16 +16,24 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.service.CommentService;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.dto.PeriodDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.ValidatorServer;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -49,12 +57,16 @@ public class ItemServiceTests extends StorageForTests {
     private CommentService mockCommentService;
     @Mock
     private ValidatorServer mockValidator;
+    @Mock
+    private ItemSearchEngine mockSearchEngine;
+    @Mock
+    private ItemAvailabilityIndex mockAvailabilityIndex;
 
     @BeforeEach
     void setUp() {
         mockItemService = new ItemServiceImpl(
                 itemMapper, mockItemRepository, mockBookingRepository,
-                bookingMapper, mockCommentService, mockValidator);
+                bookingMapper, mockCommentService, mockValidator, mockSearchEngine, mockAvailabilityIndex);
     }
 
     @Test
@@ -71,12 +83,24 @@ public class ItemServiceTests extends StorageForTests {
         List<ItemOwnerDto> expectedList = List.of(expectedItemOwnerDto);
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
         when(mockItemRepository.findByOwnerIdOrderById(anyLong(), any(Pageable.class))).thenReturn(List.of(item1));
-        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item1);
-        when(mockBookingRepository.findFirstByItemOrderByStartAsc(any(Item.class))).thenReturn(lastBooking);
-        when(mockBookingRepository.findFirstByItemOrderByEndDesc(any(Item.class))).thenReturn(nextBooking);
-        when(mockCommentService.getCommentsByItemId(item1.getId())).thenReturn(List.of(commentDto));
+        when(mockBookingRepository.findLastBookingsByItemIds(List.of(item1.getId()))).thenReturn(List.of(lastBooking));
+        when(mockBookingRepository.findNextBookingsByItemIds(List.of(item1.getId()))).thenReturn(List.of(nextBooking));
+        when(mockCommentService.getCommentsByItemIds(List.of(item1.getId())))
+                .thenReturn(Map.of(item1.getId(), List.of(commentDto)));
         List<ItemOwnerDto> actualList = mockItemService.getAllUserItems(user.getId(), 0, 5);
         assertEquals(expectedList, actualList);
+        Mockito.verify(mockValidator, Mockito.never()).validateAndReturnItemByItemId(anyLong());
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест получения пустого списка предметов пользователя")
+    void getAllUserItemsEmpty() {
+        User user = createUser();
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockItemRepository.findByOwnerIdOrderById(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        List<ItemOwnerDto> actualList = mockItemService.getAllUserItems(user.getId(), 0, 5);
+        assertEquals(List.of(), actualList);
+        Mockito.verifyNoInteractions(mockBookingRepository, mockCommentService);
     }
 
     @Test
@@ -87,7 +111,7 @@ public class ItemServiceTests extends StorageForTests {
         ItemDto itemDto1 = createItemDtoNullRequest();
         ItemDto itemDto2 = createItemDtoNullRequest2();
         List<ItemDto> expectedList = List.of(itemDto1, itemDto2);
-        when(mockItemRepository.searchItemByNameAndDesc(any(String.class),
+        when(mockSearchEngine.search(any(String.class),
                 any(Pageable.class))).thenReturn(List.of(item1, item2));
         List<ItemDto> actualList = mockItemService.findItemsByText("item", 0, 5);
         assertEquals(expectedList, actualList);
@@ -111,6 +135,7 @@ public class ItemServiceTests extends StorageForTests {
         when(mockItemRepository.save(any(Item.class))).thenReturn(item);
         ItemDto actualItemDto = mockItemService.addItem(user.getId(), itemDto);
         assertEquals(expectedItemDto, actualItemDto);
+        Mockito.verify(mockSearchEngine, Mockito.times(1)).index(item);
     }
 
     @Test
@@ -127,8 +152,8 @@ public class ItemServiceTests extends StorageForTests {
 
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
         when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
-        when(mockBookingRepository.findFirstByItemOrderByStartAsc(any(Item.class))).thenReturn(lastBooking);
-        when(mockBookingRepository.findFirstByItemOrderByEndDesc(any(Item.class))).thenReturn(nextBooking);
+        when(mockBookingRepository.findLastAndNextBookingsByItemId(item.getId())).thenReturn(List.of(
+                bookingMapper.toBookingDtoOnlyId(lastBooking), bookingMapper.toBookingDtoOnlyId(nextBooking)));
         when(mockCommentService.getCommentsByItemId(item.getId())).thenReturn(List.of(commentDto));
         ItemOwnerDto actualItemOwnerDto = mockItemService.findItemOwnerDtoById(user.getId(), item.getId());
         assertEquals(expectedItemOwnerDto, actualItemOwnerDto);
@@ -146,12 +171,29 @@ public class ItemServiceTests extends StorageForTests {
 
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(otherUser);
         when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
-        when(mockBookingRepository.findFirstByItemOrderByStartAsc(any(Item.class))).thenReturn(null);
-        when(mockBookingRepository.findFirstByItemOrderByEndDesc(any(Item.class))).thenReturn(null);
         when(mockCommentService.getCommentsByItemId(item.getId())).thenReturn(List.of(commentDto));
 
         ItemOwnerDto itemOtherUserDto = mockItemService.findItemOwnerDtoById(otherUser.getId(), item.getId());
         assertEquals(expectedItemOwnerDto, itemOtherUserDto);
+        Mockito.verifyNoInteractions(mockBookingRepository);
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест календаря занятости свободного предмета без выборки бронирований")
+    void getItemAvailabilityFree() {
+        User user = createUser();
+        Item item = createItemWithRequest();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
+        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
+        when(mockAvailabilityIndex.isFree(item.getId(), start, end)).thenReturn(true);
+
+        ItemAvailabilityDto availability = mockItemService.getItemAvailability(user.getId(), item.getId(),
+                start, end);
+        assertEquals(new ItemAvailabilityDto(item.getId(), start, end, true, List.of(),
+                List.of(new PeriodDto(start, end))), availability);
+        Mockito.verify(mockAvailabilityIndex, Mockito.never()).getBusyPeriods(anyLong(), any(), any());
     }
 
     @Test
@@ -161,12 +203,14 @@ public class ItemServiceTests extends StorageForTests {
         Item item = createItemWithRequest();
         ItemDto itemDto = createItemDtoWithRequestId();
         itemDto.setName("test");
+        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
-        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
         when(mockItemRepository.save(any(Item.class))).thenReturn(item);
 
         ItemDto actualItemDto1 = mockItemService.updateItem(user.getId(), item.getId(), itemDto);
         assertEquals(itemDto.getName(), actualItemDto1.getName());
+        Mockito.verify(mockValidator, Mockito.never()).validateAndReturnItemByItemId(anyLong());
+        Mockito.verify(mockValidator, Mockito.times(1)).validateOwnerFromItem(user.getId(), item);
     }
 
     @Test
@@ -175,8 +219,8 @@ public class ItemServiceTests extends StorageForTests {
         User user = createUser();
         Item item = createItemWithRequest();
         ItemDto itemDto = createItemDtoWithRequestId();
+        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
-        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
         when(mockItemRepository.save(any(Item.class))).thenReturn(item);
 
         itemDto.setDescription("testDesc");
@@ -190,8 +234,8 @@ public class ItemServiceTests extends StorageForTests {
         User user = createUser();
         Item item = createItemWithRequest();
         ItemDto itemDto = createItemDtoWithRequestId();
+        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
-        when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
         when(mockItemRepository.save(any(Item.class))).thenReturn(item);
 
         itemDto.setAvailable(false);
@@ -199,6 +243,14 @@ public class ItemServiceTests extends StorageForTests {
         assertEquals(itemDto.getName(), actualItemDto3.getName());
     }
 
+    @Test
+    @DisplayName("ServiceMVC Тест редактирования несуществующего предмета")
+    void updateItemNotFound() {
+        ItemDto itemDto = createItemDtoWithRequestId();
+        when(mockItemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        assertThrows(ItemNotFoundException.class, () -> mockItemService.updateItem(1L, 99L, itemDto));
+    }
+
     @Test
     @DisplayName("ServiceMVC Тест удаления предмета")
     void deleteItemById() {
@@ -207,6 +259,9 @@ public class ItemServiceTests extends StorageForTests {
         when(mockValidator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
         when(mockValidator.validateAndReturnItemByItemId(anyLong())).thenReturn(item);
         mockItemService.deleteItemById(user.getId(), item.getId());
+        Mockito.verify(mockValidator, Mockito.times(1)).validateAndReturnItemByItemId(item.getId());
+        Mockito.verify(mockValidator, Mockito.times(1)).validateOwnerFromItem(user.getId(), item);
         Mockito.verify(mockItemRepository, Mockito.times(1)).deleteById(item.getId());
+        Mockito.verify(mockSearchEngine, Mockito.times(1)).remove(item.getId());
     }
 }
\ No newline at end of file
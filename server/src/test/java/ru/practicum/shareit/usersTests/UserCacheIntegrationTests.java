@@ -0,0 +1,67 @@
+package ru.practicum.shareit.usersTests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.ValidatorServer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserCacheIntegrationTests extends StorageForTests {
+
+    private final UserService userService;
+    private final ValidatorServer validator;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final UserDto user1 = createUserDtoWithoutId();
+    private final UserDto user2 = createUserDtoTwoWithoutId();
+
+    @Test
+    @DisplayName("Интеграционный Тест чтения пользователя из кэша и метрик кэша")
+    void readThroughCache() {
+        UserDto userDto = userService.addNewUser(user1);
+        validator.validateAndReturnUserByUserId(userDto.getId());
+        validator.validateAndReturnUserByUserId(userDto.getId());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "users", "result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "users", "result", "hit").functionCounter().count());
+        Cache users = cacheManager.getCache("users");
+        assertNotNull(users);
+        assertNotNull(users.get(userDto.getId()));
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест сброса кэша при изменении пользователя")
+    void evictOnUpdate() {
+        UserDto userDto = userService.addNewUser(user1);
+        assertEquals(user1.getName(), userService.findUserDtoById(userDto.getId()).getName());
+        userService.updateUser(user2, userDto.getId());
+        assertNull(cacheManager.getCache("users").get(userDto.getId()));
+        assertEquals(user2.getName(), userService.findUserDtoById(userDto.getId()).getName());
+        assertEquals(user2.getEmail(), userService.findUserDtoById(userDto.getId()).getEmail());
+    }
+
+    @Test
+    @DisplayName("Интеграционный Тест сброса кэша при удалении пользователя")
+    void evictOnDelete() {
+        UserDto userDto = userService.addNewUser(user1);
+        userService.findUserDtoById(userDto.getId());
+        userService.deleteUser(userDto.getId());
+        assertNull(cacheManager.getCache("users").get(userDto.getId()));
+        assertThrows(UserNotFoundException.class, () -> userService.findUserDtoById(userDto.getId()));
+    }
+}
@@ -46,7 +46,7 @@ class UserIntegrationTests extends StorageForTests {
     @DisplayName("Интеграционный Тест добавления и получения предмета")
     void addUserAndGetUserById() {
         UserDto expectedUserDto = userController.addUser(user1);
-        assertEquals(expectedUserDto, userController.getUserById(expectedUserDto.getId()));
+        assertEquals(expectedUserDto, userController.getUserById(expectedUserDto.getId(), createWebRequest()));
     }
 
     @Test
@@ -62,8 +62,8 @@ class UserIntegrationTests extends StorageForTests {
     void updateUser() {
         UserDto userDto = userController.addUser(user1);
         userController.updateUser(user2, userDto.getId());
-        assertEquals(user2.getName(), userController.getUserById(userDto.getId()).getName());
-        assertEquals(user2.getEmail(), userController.getUserById(userDto.getId()).getEmail());
+        assertEquals(user2.getName(), userController.getUserById(userDto.getId(), createWebRequest()).getName());
+        assertEquals(user2.getEmail(), userController.getUserById(userDto.getId(), createWebRequest()).getEmail());
     }
 
     @Test
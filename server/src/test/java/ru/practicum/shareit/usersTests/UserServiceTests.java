@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.StorageForTests;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -18,8 +19,10 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.util.ValidatorServer;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
@@ -72,11 +75,20 @@ public class UserServiceTests extends StorageForTests {
         User user = createUser();
         UserDto expectedUserDto = createUserDto();
         expectedUserDto.setName("testName");
-        when(validator.validateAndReturnUserByUserId(anyLong())).thenReturn(user);
-        user.setName("testName");
-        when(mockUserRepository.save(any(User.class))).thenReturn(user);
+        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(mockUserRepository.saveAndFlush(any(User.class))).thenReturn(user);
         UserDto actualUserDto = mockUserService.updateUser(expectedUserDto, user.getId());
         assertEquals(expectedUserDto, actualUserDto);
+        Mockito.verify(mockUserRepository, Mockito.times(1)).findById(user.getId());
+        Mockito.verifyNoInteractions(validator);
+    }
+
+    @Test
+    @DisplayName("ServiceMVC Тест редактирование данных несуществующего пользователя")
+    void updateUserNotFound() {
+        UserDto userDto = createUserDto();
+        when(mockUserRepository.findById(anyLong())).thenReturn(Optional.empty());
+        assertThrows(UserNotFoundException.class, () -> mockUserService.updateUser(userDto, 99L));
     }
 
     @Test